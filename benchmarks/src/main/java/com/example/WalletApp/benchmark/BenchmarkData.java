@@ -0,0 +1,128 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import com.example.WalletApp.service.TransactionRollupService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic benchmark data: one user with two EUR wallets and one USD wallet, a savings goal,
+ * and N transactions over the last two years written with JDBC batches, together with their ledger
+ * legs, rollups and wallet balances, so the data looks as if it had been entered through the app.
+ * Balances are large enough that transfers and expenses never run out of funds.
+ */
+public final class BenchmarkData {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final long EUR = 2L;
+    private static final long USD = 3L;
+
+    public final Long userId;
+    public final Long euroWalletId;
+    public final Long secondEuroWalletId;
+    public final Long dollarWalletId;
+
+    private BenchmarkData(Long userId, Long euroWalletId, Long secondEuroWalletId, Long dollarWalletId) {
+        this.userId = userId;
+        this.euroWalletId = euroWalletId;
+        this.secondEuroWalletId = secondEuroWalletId;
+        this.dollarWalletId = dollarWalletId;
+    }
+
+    static BenchmarkData seed(ApplicationContext context, int transactions) {
+        CurrencyRepository currencyRepository = context.getBean(CurrencyRepository.class);
+        Currency eur = currencyRepository.findById(EUR).orElseThrow();
+        Currency usd = currencyRepository.findById(USD).orElseThrow();
+
+        User user = context.getBean(UserRepository.class).save(new User("Bench", "User", "bench.user",
+                "bench@example.com", "password", new Date(), Role.USER, eur));
+        WalletRepository walletRepository = context.getBean(WalletRepository.class);
+        BigDecimal balance = new BigDecimal("1000000000.00");
+        Wallet euros = walletRepository.save(new Wallet("Evri", balance, user, eur));
+        Wallet moreEuros = walletRepository.save(new Wallet("Evri 2", balance, user, eur));
+        Wallet dollars = walletRepository.save(new Wallet("Dolari", balance, user, usd));
+        context.getBean(SavingsGoalRepository.class).save(new SavingsGoal("Odmor", new BigDecimal("5000.00"),
+                new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(365)), moreEuros, user));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long[] walletIds = {euros.getId(), moreEuros.getId(), dollars.getId()};
+        BigDecimal[] deltas = insertTransactions(jdbcTemplate, transactions, user.getId(), walletIds);
+        insertLedgerLegs(jdbcTemplate, user.getId());
+        for (int i = 0; i < walletIds.length; i++) {
+            jdbcTemplate.update("UPDATE wallets SET current_balance = current_balance + ? WHERE id = ?",
+                    deltas[i], walletIds[i]);
+        }
+        context.getBean(TransactionRollupService.class).rebuild();
+        return new BenchmarkData(user.getId(), euros.getId(), moreEuros.getId(), dollars.getId());
+    }
+
+    /**
+     * Insert the transactions; returns the net balance change per wallet.
+     */
+    private static BigDecimal[] insertTransactions(JdbcTemplate jdbcTemplate, int count, Long userId, Long[] walletIds) {
+        Random random = new Random(42);
+        BigDecimal[] deltas = new BigDecimal[walletIds.length];
+        Arrays.fill(deltas, BigDecimal.ZERO);
+        long now = System.currentTimeMillis();
+        long twoYears = TimeUnit.DAYS.toMillis(730);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            boolean income = random.nextInt(10) == 0;
+            long categoryId = income ? 1 + random.nextInt(5) : 6 + random.nextInt(11);
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+            int wallet = i % walletIds.length;
+            deltas[wallet] = deltas[wallet].add(income ? amount : amount.negate());
+            batch.add(new Object[] {
+                    (income ? "Prihod " : "Trošak ") + i,
+                    amount,
+                    income ? "INCOME" : "EXPENSE",
+                    categoryId,
+                    new Timestamp(now - (long) (random.nextDouble() * twoYears)),
+                    walletIds[wallet],
+                    userId
+            });
+            if (batch.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, batch);
+            }
+        }
+        flush(jdbcTemplate, batch);
+        return deltas;
+    }
+
+    /**
+     * Post every transaction of the user like LedgerService does: a wallet leg and an INCOME/EXPENSE counter leg
+     * (the counter account is named after the transaction type).
+     */
+    private static void insertLedgerLegs(JdbcTemplate jdbcTemplate, Long userId) {
+        String signedAmount = "CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END";
+        String insert = "INSERT INTO ledger_entries (id, posting_id, kind, account, wallet_id, currency_id, amount, " +
+                "transaction_id, effective_date, recorded_at) " +
+                "SELECT NEXT VALUE FOR ledger_entries_seq, t.id, 'TRANSACTION', %s, %s, w.currency_id, %s, " +
+                "t.id, t.date_of_transaction, CURRENT_TIMESTAMP " +
+                "FROM transactions t JOIN wallets w ON w.id = t.wallet_id WHERE t.user_id = ?";
+        jdbcTemplate.update(String.format(insert, "'WALLET'", "t.wallet_id", signedAmount), userId);
+        jdbcTemplate.update(String.format(insert, "t.type", "NULL", "-(" + signedAmount + ")"), userId);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Ids from the entity's pooled sequence, so later Hibernate inserts never collide
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (id, name, amount, type, category_id, " +
+                "date_of_transaction, repeating, wallet_id, user_id) " +
+                "VALUES (NEXT VALUE FOR transactions_seq, ?, ?, ?, ?, ?, FALSE, ?, ?)", batch);
+        batch.clear();
+    }
+}
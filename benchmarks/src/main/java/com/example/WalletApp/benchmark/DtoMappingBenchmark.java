@@ -0,0 +1,123 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.dto.*;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of every service (the private convertToDTO methods), on entities loaded once.
+ * Associations are initialized during warmup and stay loaded; the EntityManager is open for the whole trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+
+    private static final int SAMPLE_SIZE = 100;
+
+    private EntityManager entityManager;
+
+    private MethodHandle transactionMapper;
+    private MethodHandle walletMapper;
+    private MethodHandle userMapper;
+    private MethodHandle currencyMapper;
+    private MethodHandle categoryMapper;
+    private MethodHandle savingsGoalMapper;
+
+    private List<Transaction> transactions;
+    private List<Wallet> wallets;
+    private List<User> users;
+    private List<Currency> currencies;
+    private List<Category> categories;
+    private List<SavingsGoal> savingsGoals;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(WalletAppState app) throws ReflectiveOperationException {
+        entityManager = app.bean(EntityManagerFactory.class).createEntityManager();
+        transactions = load("SELECT t FROM Transaction t ORDER BY t.id", Transaction.class);
+        wallets = load("SELECT w FROM Wallet w ORDER BY w.id", Wallet.class);
+        users = load("SELECT u FROM User u ORDER BY u.id", User.class);
+        currencies = load("SELECT c FROM Currency c ORDER BY c.id", Currency.class);
+        categories = load("SELECT c FROM Category c ORDER BY c.id", Category.class);
+        savingsGoals = load("SELECT g FROM SavingsGoal g ORDER BY g.id", SavingsGoal.class);
+
+        transactionMapper = mapper(app, TransactionService.class, Transaction.class, TransactionDTO.class);
+        walletMapper = mapper(app, WalletService.class, Wallet.class, WalletDTO.class);
+        userMapper = mapper(app, UserService.class, User.class, UserDTO.class);
+        currencyMapper = mapper(app, CurrencyService.class, Currency.class, CurrencyDTO.class);
+        categoryMapper = mapper(app, CategoryService.class, Category.class, CategoryDTO.class);
+        savingsGoalMapper = mapper(app, SavingsGoalService.class, SavingsGoal.class, SavingsGoalDTO.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public TransactionDTO transaction() throws Throwable {
+        return (TransactionDTO) transactionMapper.invokeExact(transactions.get(index(transactions)));
+    }
+
+    @Benchmark
+    public WalletDTO wallet() throws Throwable {
+        return (WalletDTO) walletMapper.invokeExact(wallets.get(index(wallets)));
+    }
+
+    @Benchmark
+    public UserDTO user() throws Throwable {
+        return (UserDTO) userMapper.invokeExact(users.get(index(users)));
+    }
+
+    @Benchmark
+    public CurrencyDTO currency() throws Throwable {
+        return (CurrencyDTO) currencyMapper.invokeExact(currencies.get(index(currencies)));
+    }
+
+    @Benchmark
+    public CategoryDTO category() throws Throwable {
+        return (CategoryDTO) categoryMapper.invokeExact(categories.get(index(categories)));
+    }
+
+    @Benchmark
+    public SavingsGoalDTO savingsGoal() throws Throwable {
+        return (SavingsGoalDTO) savingsGoalMapper.invokeExact(savingsGoals.get(index(savingsGoals)));
+    }
+
+    private <T> List<T> load(String query, Class<T> type) {
+        return entityManager.createQuery(query, type).setMaxResults(SAMPLE_SIZE).getResultList();
+    }
+
+    /**
+     * convertToDTO of the service bound to the bean's target (a proxy has no injected fields).
+     */
+    private static MethodHandle mapper(WalletAppState app, Class<?> service, Class<?> entity, Class<?> dto)
+            throws ReflectiveOperationException {
+        Object target = AopProxyUtils.getSingletonTarget(app.bean(service));
+        MethodHandle handle = MethodHandles.privateLookupIn(service, MethodHandles.lookup())
+                .findVirtual(service, "convertToDTO", MethodType.methodType(dto, entity));
+        return handle.bindTo(target != null ? target : app.bean(service));
+    }
+
+    private int index(List<?> sample) {
+        int i = next++;
+        if (next == Integer.MAX_VALUE) {
+            next = 0;
+        }
+        return i % sample.size();
+    }
+}
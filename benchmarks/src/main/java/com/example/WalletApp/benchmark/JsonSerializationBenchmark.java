@@ -0,0 +1,43 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of TransactionDTO lists with the application's ObjectMapper,
+ * as the list endpoints write them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "1000"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private List<TransactionDTO> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp(WalletAppState app) {
+        ObjectMapper objectMapper = app.bean(ObjectMapper.class);
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionDTO.class));
+        transactions = app.bean(TransactionRepository.class)
+                .findFirstPageByUserId(app.data().userId, PageRequest.of(0, listSize));
+    }
+
+    @Benchmark
+    public byte[] serializeTransactions() throws Exception {
+        return writer.writeValueAsBytes(transactions);
+    }
+}
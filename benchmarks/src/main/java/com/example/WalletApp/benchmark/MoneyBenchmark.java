@@ -0,0 +1,95 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.entity.ExchangeRate;
+import com.example.WalletApp.entity.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money (long minor units) against the BigDecimal path for currency conversion and summation.
+ * Allocation rate: java -jar target/benchmarks.jar MoneyBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final Long EUR = 2L;
+    private static final Long RSD = 1L;
+
+    @Param({"1000"})
+    private int size;
+
+    private BigDecimal[] amounts;
+    private Money[] money;
+    private List<BigDecimal> amountList;
+    private List<Money> moneyList;
+    private BigDecimal rate;
+    private ExchangeRate exchangeRate;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[size];
+        money = new Money[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            money[i] = Money.of(amounts[i], EUR);
+        }
+        amountList = List.of(amounts);
+        moneyList = List.of(money);
+        // EUR -> RSD cross rate as CurrencyRateCache builds it
+        rate = BigDecimal.valueOf(1.0).divide(BigDecimal.valueOf(0.0085), MathContext.DECIMAL64);
+        exchangeRate = ExchangeRate.of(rate);
+    }
+
+    @Benchmark
+    public BigDecimal convertBigDecimal() {
+        return amounts[index()].multiply(rate, MathContext.DECIMAL64).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public Money convertMoney() {
+        return money[index()].convert(exchangeRate, RSD);
+    }
+
+    /**
+     * Conversion as transferFunds does it: BigDecimal in and out, Money in between.
+     */
+    @Benchmark
+    public BigDecimal convertMoneyAtBoundary() {
+        return Money.of(amounts[index()], EUR).convert(exchangeRate, RSD).toBigDecimal();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public BigDecimal sumBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : amountList) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public Money sumMoney() {
+        return Money.sum(moneyList, EUR);
+    }
+
+    private int index() {
+        int i = next;
+        next = i + 1 == size ? 0 : i + 1;
+        return i;
+    }
+}
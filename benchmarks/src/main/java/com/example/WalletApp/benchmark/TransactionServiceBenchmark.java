@@ -0,0 +1,71 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.TransferDTO;
+import com.example.WalletApp.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write paths of TransactionService, each a full database transaction on the seeded H2 database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionServiceBenchmark {
+
+    private TransactionService transactionService;
+    private BenchmarkData data;
+    private TransferDTO sameCurrencyOut;
+    private TransferDTO sameCurrencyBack;
+    private TransferDTO crossCurrencyOut;
+    private TransferDTO crossCurrencyBack;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp(WalletAppState app) {
+        transactionService = app.bean(TransactionService.class);
+        data = app.data();
+        sameCurrencyOut = transfer(data.euroWalletId, data.secondEuroWalletId);
+        sameCurrencyBack = transfer(data.secondEuroWalletId, data.euroWalletId);
+        crossCurrencyOut = transfer(data.euroWalletId, data.dollarWalletId);
+        crossCurrencyBack = transfer(data.dollarWalletId, data.euroWalletId);
+    }
+
+    @Benchmark
+    public TransactionDTO createTransaction() {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setName("Kafa");
+        dto.setAmount(new BigDecimal("3.50"));
+        dto.setType("EXPENSE");
+        dto.setCategoryId(6L);
+        dto.setWalletId(data.euroWalletId);
+        return transactionService.createTransaction(dto, data.userId);
+    }
+
+    /**
+     * Alternates direction so balances stay put across iterations.
+     */
+    @Benchmark
+    public void transferSameCurrency() {
+        transactionService.transferFunds((counter++ & 1) == 0 ? sameCurrencyOut : sameCurrencyBack, data.userId);
+    }
+
+    @Benchmark
+    public void transferCrossCurrency() {
+        transactionService.transferFunds((counter++ & 1) == 0 ? crossCurrencyOut : crossCurrencyBack, data.userId);
+    }
+
+    private static TransferDTO transfer(Long fromWalletId, Long toWalletId) {
+        TransferDTO transfer = new TransferDTO();
+        transfer.setFromWalletId(fromWalletId);
+        transfer.setToWalletId(toWalletId);
+        transfer.setAmount(new BigDecimal("10.00"));
+        return transfer;
+    }
+}
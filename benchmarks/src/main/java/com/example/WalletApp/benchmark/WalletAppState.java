@@ -0,0 +1,53 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.DemoAplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application on an embedded H2 database, seeded once per trial with the given number of transactions.
+ * Size is chosen with -p transactions=1000 (defaults run all three).
+ */
+@State(Scope.Benchmark)
+public class WalletAppState {
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Passed as arguments so they win over application.properties
+        context = new SpringApplicationBuilder(DemoAplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        // Keep scheduled jobs (rate refresh, snapshots, rebuilds) out of the measurements
+                        "--wallet.rates.initial-delay-ms=86400000",
+                        "--wallet.recurring.cron=-",
+                        "--wallet.ledger.snapshot-cron=-",
+                        "--wallet.rollups.rebuild-cron=-");
+        data = BenchmarkData.seed(context, transactions);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public BenchmarkData data() {
+        return data;
+    }
+}
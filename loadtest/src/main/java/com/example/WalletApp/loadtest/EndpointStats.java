@@ -0,0 +1,47 @@
+package com.example.WalletApp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds) and failures of one endpoint, recorded concurrently by all sessions.
+ */
+public class EndpointStats {
+
+    // 1 us .. 1 min at 3 significant digits
+    private static final long MAX_LATENCY_US = 60_000_000L;
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_US, 3);
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean measuring;
+
+    public void record(long latencyNanos, boolean success) {
+        if (!measuring) {
+            return;
+        }
+        recorder.recordValue(Math.min(MAX_LATENCY_US, Math.max(1, latencyNanos / 1_000)));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * End of warmup: drop everything recorded so far.
+     */
+    public void startMeasuring() {
+        recorder.reset();
+        errors.reset();
+        measuring = true;
+    }
+
+    public Histogram stop() {
+        measuring = false;
+        return recorder.getIntervalHistogram();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.WalletApp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-model HTTP load test against a running WalletApp: each of N sessions issues requests
+ * back to back (plus optional think time), picking operations by the weighted mix.
+ * After the warmup, latencies are recorded per endpoint and reported as throughput and percentiles.
+ * Users are expected to exist already, e.g. from the synthetic data generator (wallet.generator.*).
+ */
+public class LoadTest {
+
+    private final Options options;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private volatile boolean running = true;
+
+    public LoadTest(Options options) {
+        this.options = options;
+        List<Operation> weighted = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            stats.put(entry.getKey(), new EndpointStats());
+            for (int i = 0; i < entry.getValue(); i++) {
+                weighted.add(entry.getKey());
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Empty operation mix");
+        }
+        this.weightedOperations = weighted.toArray(new Operation[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.print(Options.usage());
+            return;
+        }
+        new LoadTest(Options.parse(args)).run();
+    }
+
+    public void run() throws Exception {
+        System.out.printf("Opening %d sessions against %s%n", options.users, options.baseUrl);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            Session user = new Session(options.baseUrl, options.usernamePrefix + i, options.password);
+            user.open();
+            Session admin = null;
+            if (stats.containsKey(Operation.DASHBOARD)) {
+                admin = new Session(options.baseUrl, options.adminUsername, options.adminPassword);
+                admin.open();
+            }
+            Session adminSession = admin;
+            Thread worker = new Thread(() -> work(user, adminSession), "loadtest-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+
+        workers.forEach(Thread::start);
+        System.out.printf("Warming up for %ds%n", options.warmup.toSeconds());
+        Thread.sleep(options.warmup.toMillis());
+
+        stats.values().forEach(EndpointStats::startMeasuring);
+        long started = System.nanoTime();
+        System.out.printf("Measuring for %ds%n", options.duration.toSeconds());
+        Thread.sleep(options.duration.toMillis());
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            histograms.put(entry.getKey(), entry.getValue().stop());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(30_000);
+        }
+
+        report(histograms, seconds);
+    }
+
+    private void work(Session user, Session admin) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<String> response = execute(operation, user, admin);
+                success = response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.get(operation).record(System.nanoTime() - start, success);
+
+            if (options.thinkTimeMs > 0) {
+                try {
+                    Thread.sleep(options.thinkTimeMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private HttpResponse<String> execute(Operation operation, Session user, Session admin)
+            throws IOException, InterruptedException {
+        return switch (operation) {
+            case LOGIN -> user.login();
+            case WALLETS -> user.wallets();
+            case TRANSACTIONS -> user.transactions(options.pageSize);
+            // Users without wallets fall back to a read rather than counting as errors
+            case CREATE -> user.canCreate() ? user.createTransaction() : user.wallets();
+            case TRANSFER -> user.canTransfer() ? user.transfer() : user.wallets();
+            case DASHBOARD -> admin.dashboard();
+        };
+    }
+
+    private void report(Map<Operation, Histogram> histograms, double seconds) throws IOException {
+        PrintStream out = System.out;
+        out.printf("%n%-28s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long endpointErrors = stats.get(entry.getKey()).getErrors();
+            total += histogram.getTotalCount();
+            errors += endpointErrors;
+            out.printf("%-28s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().getEndpoint(), histogram.getTotalCount(), endpointErrors,
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+
+            if (options.histogramDir != null) {
+                Path dir = Files.createDirectories(Path.of(options.histogramDir));
+                try (PrintStream file = new PrintStream(
+                        Files.newOutputStream(dir.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                    // Values in milliseconds; the format HdrHistogram's plotter reads
+                    histogram.outputPercentileDistribution(file, 1000.0);
+                }
+            }
+        }
+        out.printf("%-28s %10d %8d %10.1f%n", "Total", total, errors, total / seconds);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
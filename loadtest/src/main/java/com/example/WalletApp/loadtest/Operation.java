@@ -0,0 +1,23 @@
+package com.example.WalletApp.loadtest;
+
+/**
+ * Requests a session can issue, one latency histogram each.
+ */
+public enum Operation {
+    LOGIN("POST /auth/login"),
+    WALLETS("GET /wallets"),
+    TRANSACTIONS("GET /transactions/page"),
+    CREATE("POST /transactions"),
+    TRANSFER("POST /transactions/transfer"),
+    DASHBOARD("GET /admin/dashboard");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.WalletApp.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value.
+ */
+public class Options {
+
+    String baseUrl = "http://localhost:8080/api";
+    int users = 50;
+    String usernamePrefix = "synthetic";
+    String password = "password";
+    String adminUsername = "admin";
+    String adminPassword = "admin123";
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    long thinkTimeMs = 0;
+    int pageSize = 50;
+    String histogramDir;
+    // Relative weights of the operations each session picks from
+    Map<Operation, Integer> mix = parseMix("login:2,wallets:25,transactions:35,create:20,transfer:13,dashboard:5");
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "users" -> options.users = Integer.parseInt(value);
+                case "username-prefix" -> options.usernamePrefix = value;
+                case "password" -> options.password = value;
+                case "admin-username" -> options.adminUsername = value;
+                case "admin-password" -> options.adminPassword = value;
+                case "warmup" -> options.warmup = parseDuration(value);
+                case "duration" -> options.duration = parseDuration(value);
+                case "think-time-ms" -> options.thinkTimeMs = Long.parseLong(value);
+                case "page-size" -> options.pageSize = Integer.parseInt(value);
+                case "histograms" -> options.histogramDir = value;
+                case "mix" -> options.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * "30s", "5m" or plain seconds.
+     */
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    /**
+     * "wallets:25,create:20,...": operations left out are not run.
+     */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    static String usage() {
+        return """
+                Usage: java -jar loadtest/target/loadtest.jar [--option=value ...]
+                  --base-url=http://localhost:8080/api
+                  --users=50                 concurrent sessions, logged in as <username-prefix>0..N-1
+                  --username-prefix=synthetic --password=password
+                  --admin-username=admin --admin-password=admin123
+                  --warmup=10s --duration=60s
+                  --think-time-ms=0          pause between requests of one session
+                  --page-size=50             GET /transactions/page size
+                  --mix=login:2,wallets:25,transactions:35,create:20,transfer:13,dashboard:5
+                  --histograms=<dir>         also write each endpoint's full percentile distribution
+                """;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.WalletApp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One logged-in user: its own cookie jar (JSESSIONID), so the server sees a separate HTTP session.
+ */
+public class Session {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final HttpClient client;
+    private final List<Long> walletIds = new ArrayList<>();
+    private long created;
+    private long transfers;
+
+    public Session(String baseUrl, String username, String password) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(TIMEOUT)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Log in and load the wallet ids used by the write operations; not measured.
+     */
+    public void open() throws IOException, InterruptedException {
+        expectOk(login(), "login as " + username);
+        HttpResponse<String> wallets = wallets();
+        expectOk(wallets, "wallets of " + username);
+        for (JsonNode wallet : MAPPER.readTree(wallets.body())) {
+            if (!wallet.path("archived").asBoolean()) {
+                walletIds.add(wallet.path("id").asLong());
+            }
+        }
+    }
+
+    public HttpResponse<String> login() throws IOException, InterruptedException {
+        String body = MAPPER.createObjectNode().put("username", username).put("password", password).toString();
+        return send(post("/auth/login", body));
+    }
+
+    public HttpResponse<String> wallets() throws IOException, InterruptedException {
+        return send(get("/wallets"));
+    }
+
+    public HttpResponse<String> transactions(int pageSize) throws IOException, InterruptedException {
+        return send(get("/transactions/page?size=" + pageSize));
+    }
+
+    public HttpResponse<String> dashboard() throws IOException, InterruptedException {
+        return send(get("/admin/dashboard"));
+    }
+
+    /**
+     * Alternates a small income and expense, so balances stay put over a long run.
+     */
+    public HttpResponse<String> createTransaction() throws IOException, InterruptedException {
+        boolean income = (created++ & 1) == 0;
+        String body = MAPPER.createObjectNode()
+                .put("name", income ? "Povraćaj" : "Kafa")
+                .put("amount", "1.00")
+                .put("type", income ? "INCOME" : "EXPENSE")
+                .put("categoryId", income ? 5 : 6)
+                .put("walletId", walletIds.get(0))
+                .toString();
+        return send(post("/transactions", body));
+    }
+
+    /**
+     * Moves a small amount back and forth between the first two wallets (cross-currency when theirs differ).
+     */
+    public HttpResponse<String> transfer() throws IOException, InterruptedException {
+        boolean out = (transfers++ & 1) == 0;
+        String body = MAPPER.createObjectNode()
+                .put("fromWalletId", walletIds.get(out ? 0 : 1))
+                .put("toWalletId", walletIds.get(out ? 1 : 0))
+                .put("amount", "1.00")
+                .toString();
+        return send(post("/transactions/transfer", body));
+    }
+
+    public boolean canTransfer() {
+        return walletIds.size() >= 2;
+    }
+
+    public boolean canCreate() {
+        return !walletIds.isEmpty();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void expectOk(HttpResponse<String> response, String what) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(what + " failed: HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+}
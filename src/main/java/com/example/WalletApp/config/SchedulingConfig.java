@@ -0,0 +1,12 @@
+package com.example.WalletApp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (recurring transactions).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,69 @@
+package com.example.WalletApp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the core services as wallet.service.invocations,
+ * tagged by service, method, outcome and exception (count, latency histogram and errors per method).
+ * Runs outside @Transactional, so commit time and commit failures are included.
+ * Repository calls are timed by Spring Boot as spring.data.repository.invocations.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC = "wallet.service.invocations";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Success timers are looked up on every call, so they are cached per method
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.WalletApp.service.TransactionService.*(..))"
+            + " || execution(public * com.example.WalletApp.service.WalletService.*(..))"
+            + " || execution(public * com.example.WalletApp.service.CurrencyService.*(..))"
+            + " || execution(public * com.example.WalletApp.service.SavingsGoalService.*(..))"
+            + " || execution(public * com.example.WalletApp.service.AdminService.*(..))"
+            + " || execution(public * com.example.WalletApp.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(m, "SUCCESS", "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(method, "ERROR", e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String outcome, String exception) {
+        return Timer.builder(METRIC)
+                .description("Service method invocations")
+                .tag("service", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.WalletApp.config;
+
+import com.example.WalletApp.service.SyntheticDataGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Generates synthetic data on startup when wallet.generator.enabled=true, e.g.
+ * mvn spring-boot:run -Dspring-boot.run.arguments="--wallet.generator.enabled=true --wallet.generator.users=1000"
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.generator.enabled", havingValue = "true")
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${wallet.generator.users:100}")
+    private int users;
+
+    @Value("${wallet.generator.wallets-per-user:3}")
+    private int walletsPerUser;
+
+    @Value("${wallet.generator.years:3}")
+    private int years;
+
+    @Value("${wallet.generator.transactions-per-user:1000}")
+    private int transactionsPerUser;
+
+    @Value("${wallet.generator.seed:42}")
+    private long seed;
+
+    // Fixed end date keeps runs on different days identical; empty means today
+    @Value("${wallet.generator.end-date:}")
+    private String endDate;
+
+    @Value("${wallet.generator.username-prefix:synthetic}")
+    private String usernamePrefix;
+
+    @Value("${wallet.generator.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SyntheticDataGenerator.Spec spec = new SyntheticDataGenerator.Spec(users, walletsPerUser, years,
+                transactionsPerUser, seed, endDate.isBlank() ? LocalDate.now() : LocalDate.parse(endDate),
+                usernamePrefix);
+        System.out.println("⏳ Generating synthetic data: " + spec);
+        Map<String, Object> result = generator.generate(spec);
+        System.out.println("✅ Synthetic data generated: " + result + " (password for all users: password)");
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+}
@@ -8,17 +8,27 @@ import com.example.WalletApp.entity.AdminNote;
 import com.example.WalletApp.service.AdminService;
 import com.example.WalletApp.service.CategoryService;
 import com.example.WalletApp.service.CurrencyService;
+import com.example.WalletApp.service.ExchangeRateRefresher;
+import com.example.WalletApp.service.LedgerService;
+import com.example.WalletApp.service.RecurringTransactionService;
+import com.example.WalletApp.service.TransactionExportService;
+import com.example.WalletApp.service.TransactionFileFormat;
+import com.example.WalletApp.service.TransactionRollupService;
 import com.example.WalletApp.service.TransactionService;
 import com.example.WalletApp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -47,6 +57,21 @@ public class AdminController {
     @Autowired
     private CurrencyService currencyService;
     
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+    
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+    
+    @Autowired
+    private ExchangeRateRefresher exchangeRateRefresher;
+    
     /**
      * Check if current user is admin (helper method for authorization).
      */
@@ -188,6 +213,27 @@ public class AdminController {
         }
     }
     
+    /**
+     * Stream all transactions in system as a file download (admin only).
+     * GET /api/admin/transactions/export?format=csv|ndjson
+     */
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportAllTransactions(@RequestParam(defaultValue = "csv") String format,
+                                                                       HttpSession session) {
+        try {
+            if (!isAdmin(session)) {
+                return transactionExportService.downloadError(HttpStatus.FORBIDDEN, "Nemate pristup ovoj akciji");
+            }
+            
+            TransactionFileFormat fileFormat = TransactionFileFormat.resolve(format, null);
+            return transactionExportService.download(fileFormat,
+                    output -> transactionExportService.exportAllTransactions(fileFormat, output));
+            
+        } catch (Exception e) {
+            return transactionExportService.downloadError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
     /**
      * Get dashboard metrics (admin only).
      * GET /api/admin/dashboard
@@ -209,6 +255,107 @@ public class AdminController {
         }
     }
     
+    /**
+     * Run recurring transactions that are due now (admin only).
+     * POST /api/admin/recurring/run
+     */
+    @PostMapping("/recurring/run")
+    public ResponseEntity<?> runRecurringTransactions(HttpSession session) {
+        try {
+            if (!isAdmin(session)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Nemate pristup ovoj akciji"));
+            }
+            
+            return ResponseEntity.ok(recurringTransactionService.runDue(new Date()));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Take wallet balance snapshots as of the start of today (admin only).
+     * POST /api/admin/ledger/snapshots
+     */
+    @PostMapping("/ledger/snapshots")
+    public ResponseEntity<?> takeBalanceSnapshots(HttpSession session) {
+        try {
+            if (!isAdmin(session)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Nemate pristup ovoj akciji"));
+            }
+            
+            Date startOfToday = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+            return ResponseEntity.ok(ledgerService.takeSnapshots(startOfToday));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Compare a wallet's stored balance with its ledger balance (admin only).
+     * GET /api/admin/ledger/reconcile/{walletId}
+     */
+    @GetMapping("/ledger/reconcile/{walletId}")
+    public ResponseEntity<?> reconcileWallet(@PathVariable Long walletId, HttpSession session) {
+        try {
+            if (!isAdmin(session)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Nemate pristup ovoj akciji"));
+            }
+            
+            return ResponseEntity.ok(ledgerService.reconcile(walletId));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Rebuild transaction rollups from the transactions table (admin only).
+     * POST /api/admin/rollups/rebuild
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildRollups(HttpSession session) {
+        try {
+            if (!isAdmin(session)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Nemate pristup ovoj akciji"));
+            }
+            
+            return ResponseEntity.ok(transactionRollupService.rebuild());
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Refresh all currency rates from the external API in one request (admin only).
+     * POST /api/admin/currencies/refresh-rates
+     */
+    @PostMapping("/currencies/refresh-rates")
+    public ResponseEntity<?> refreshRates(HttpSession session) {
+        try {
+            if (!isAdmin(session)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Nemate pristup ovoj akciji"));
+            }
+            
+            return ResponseEntity.ok(exchangeRateRefresher.refreshRates());
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Get all categories (admin only).
      * GET /api/admin/categories
@@ -274,7 +421,8 @@ public class AdminController {
     
     /**
      * Search and filter transactions (admin only).
-     * GET /api/admin/transactions/search?user=&category=&minAmount=&maxAmount=&startDate=&endDate=&sortBy=&sortOrder=
+     * GET /api/admin/transactions/search?user=&category=&minAmount=&maxAmount=&startDate=&endDate=&sortBy=&sortOrder=&page=&size=
+     * Body is the requested page; total match count is returned in the X-Total-Count header.
      */
     @GetMapping("/transactions/search")
     public ResponseEntity<?> searchTransactions(@RequestParam(required = false) String user,
@@ -285,6 +433,8 @@ public class AdminController {
                                               @RequestParam(required = false) String endDate,
                                               @RequestParam(defaultValue = "dateCreated") String sortBy,
                                               @RequestParam(defaultValue = "desc") String sortOrder,
+                                              @RequestParam(required = false) Integer page,
+                                              @RequestParam(required = false) Integer size,
                                               HttpSession session) {
         try {
             if (!isAdmin(session)) {
@@ -299,10 +449,12 @@ public class AdminController {
             Date end = endDate != null && !endDate.isEmpty() ? 
                 sdf.parse(endDate) : null;
             
-            List<TransactionDTO> results = transactionService.searchTransactions(
-                user, category, minAmount, maxAmount, start, end, sortBy, sortOrder);
+            Page<TransactionDTO> results = transactionService.searchTransactions(
+                user, category, minAmount, maxAmount, start, end, sortBy, sortOrder, page, size);
             
-            return ResponseEntity.ok(results);
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(results.getTotalElements()))
+                    .body(results.getContent());
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,76 @@
+package com.example.WalletApp.controller;
+
+import com.example.WalletApp.dto.UserDTO;
+import com.example.WalletApp.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpSession;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * RESTful Controller for income/expense reports of the current user.
+ */
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+    
+    @Autowired
+    private ReportService reportService;
+    
+    /**
+     * Get income, expense, net and expenses per category for a date range.
+     * GET /api/reports/summary?from=yyyy-MM-dd&to=yyyy-MM-dd
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+                                        @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+                                        HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
+            
+            return ResponseEntity.ok(reportService.getSummary(user.getId(), from, to));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get the monthly report (income, expense, net, per category) in the user's currency.
+     * GET /api/reports/monthly?month=yyyy-MM (defaults to the current month)
+     */
+    @GetMapping("/monthly")
+    public ResponseEntity<?> getMonthlyReport(@RequestParam(required = false) String month, HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
+            
+            YearMonth yearMonth;
+            try {
+                yearMonth = month != null ? YearMonth.parse(month) : YearMonth.now();
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Neispravan mesec, očekivani format je yyyy-MM");
+            }
+            return ResponseEntity.ok(reportService.getMonthlyReport(user.getId(), yearMonth));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package com.example.WalletApp.controller;
 
+import com.example.WalletApp.dto.ImportResultDTO;
 import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.TransactionPageDTO;
 import com.example.WalletApp.dto.TransferDTO;
 import com.example.WalletApp.dto.UserDTO;
+import com.example.WalletApp.entity.IdempotencyRecord;
+import com.example.WalletApp.service.IdempotencyService;
+import com.example.WalletApp.service.TransactionExportService;
+import com.example.WalletApp.service.TransactionFileFormat;
+import com.example.WalletApp.service.TransactionImportService;
 import com.example.WalletApp.service.TransactionService;
+import com.example.WalletApp.service.WalletBusyException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * RESTful Controller for Transaction operations including wallet transfers.
@@ -23,15 +37,28 @@ import java.util.Map;
 @RequestMapping("/transactions")
 public class TransactionController {
     
+    private static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private TransactionImportService transactionImportService;
+    
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
     /**
      * Create a new transaction.
      * POST /api/transactions
+     * With an Idempotency-Key header, a repeated request returns the stored response.
      */
     @PostMapping
     public ResponseEntity<?> createTransaction(@Valid @RequestBody TransactionDTO transactionDTO, 
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                HttpSession session) {
         try {
             UserDTO user = (UserDTO) session.getAttribute("user");
@@ -40,8 +67,23 @@ public class TransactionController {
                         .body(Map.of("error", "Niste prijavljeni"));
             }
             
-            TransactionDTO created = transactionService.createTransaction(transactionDTO, user.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            if (idempotencyKey != null) {
+                Optional<IdempotencyRecord> stored = idempotencyService.find(
+                        user.getId(), idempotencyKey, IdempotencyService.CREATE_TRANSACTION, transactionDTO);
+                if (stored.isPresent()) {
+                    return replayCreated(stored.get());
+                }
+            }
+            
+            try {
+                TransactionDTO created = transactionService.createTransaction(transactionDTO, user.getId(), idempotencyKey);
+                return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent request with the same key committed first
+                IdempotencyRecord stored = findConcurrent(user.getId(), idempotencyKey,
+                        IdempotencyService.CREATE_TRANSACTION, transactionDTO, e);
+                return replayCreated(stored);
+            }
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -52,9 +94,11 @@ public class TransactionController {
     /**
      * CRITICAL: Transfer funds between wallets with currency conversion.
      * POST /api/transactions/transfer
+     * With an Idempotency-Key header, a repeated request is not executed again.
      */
     @PostMapping("/transfer")
     public ResponseEntity<?> transferFunds(@Valid @RequestBody TransferDTO transferDTO, 
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                           HttpSession session) {
         try {
             UserDTO user = (UserDTO) session.getAttribute("user");
@@ -63,9 +107,52 @@ public class TransactionController {
                         .body(Map.of("error", "Niste prijavljeni"));
             }
             
-            transactionService.transferFunds(transferDTO, user.getId());
+            if (idempotencyKey != null && idempotencyService.find(
+                    user.getId(), idempotencyKey, IdempotencyService.TRANSFER, transferDTO).isPresent()) {
+                return transferDone(true);
+            }
+            
+            try {
+                transactionService.transferFunds(transferDTO, user.getId(), idempotencyKey);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent request with the same key committed first
+                findConcurrent(user.getId(), idempotencyKey, IdempotencyService.TRANSFER, transferDTO, e);
+                return transferDone(true);
+            }
+            
+            return transferDone(false);
+            
+        } catch (WalletBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Bulk import transactions from a streamed CSV or NDJSON request body.
+     * POST /api/transactions/import (Content-Type: text/csv or application/x-ndjson)
+     * CSV needs a header row: name,amount,type,categoryId|categoryName,walletId,dateOfTransaction
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importTransactions(@RequestParam(required = false) String format,
+                                                HttpServletRequest request,
+                                                HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
             
-            return ResponseEntity.ok(Map.of("message", "Transfer uspešno izvršen"));
+            ImportResultDTO result = transactionImportService.importTransactions(
+                    request.getInputStream(),
+                    TransactionFileFormat.resolve(format, request.getContentType()),
+                    user.getId());
+            return ResponseEntity.ok(result);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -73,6 +160,28 @@ public class TransactionController {
         }
     }
     
+    /**
+     * Stream full transaction history of current user as a file download.
+     * GET /api/transactions/export?format=csv|ndjson
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                                                    HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return transactionExportService.downloadError(HttpStatus.UNAUTHORIZED, "Niste prijavljeni");
+            }
+            
+            TransactionFileFormat fileFormat = TransactionFileFormat.resolve(format, null);
+            return transactionExportService.download(fileFormat,
+                    output -> transactionExportService.exportUserTransactions(user.getId(), fileFormat, output));
+            
+        } catch (Exception e) {
+            return transactionExportService.downloadError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
     /**
      * Get all transactions for current user.
      * GET /api/transactions
@@ -95,6 +204,30 @@ public class TransactionController {
         }
     }
     
+    /**
+     * Get one cursor page of transactions for current user, newest first.
+     * GET /api/transactions/page?cursor=...&size=...
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getUserTransactionsPage(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
+            
+            TransactionPageDTO page = transactionService.getUserTransactionsPage(user.getId(), cursor, size);
+            return ResponseEntity.ok(page);
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Get transactions for a specific wallet.
      * GET /api/transactions/wallet/{walletId}
@@ -117,6 +250,32 @@ public class TransactionController {
         }
     }
     
+    /**
+     * Get one cursor page of transactions for a specific wallet, newest first.
+     * GET /api/transactions/wallet/{walletId}/page?cursor=...&size=...
+     */
+    @GetMapping("/wallet/{walletId}/page")
+    public ResponseEntity<?> getWalletTransactionsPage(@PathVariable Long walletId,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size,
+                                                       HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
+            
+            TransactionPageDTO page = transactionService.getWalletTransactionsPage(
+                    walletId, user.getId(), cursor, size);
+            return ResponseEntity.ok(page);
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Get transactions in date range (Query Params for filtering).
      * GET /api/transactions/range?startDate=...&endDate=...
@@ -166,4 +325,30 @@ public class TransactionController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
+    
+    private ResponseEntity<?> replayCreated(IdempotencyRecord stored) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAY_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stored.getResponseBody());
+    }
+    
+    private ResponseEntity<?> transferDone(boolean replayed) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (replayed) {
+            response.header(IDEMPOTENT_REPLAY_HEADER, "true");
+        }
+        return response.body(Map.of("message", "Transfer uspešno izvršen"));
+    }
+    
+    /**
+     * Look up the outcome stored by a concurrent request; rethrow if the violation had another cause.
+     */
+    private IdempotencyRecord findConcurrent(Long userId, String idempotencyKey, String endpoint, Object request,
+                                             DataIntegrityViolationException e) {
+        if (idempotencyKey == null) {
+            throw e;
+        }
+        return idempotencyService.find(userId, idempotencyKey, endpoint, request).orElseThrow(() -> e);
+    }
 }
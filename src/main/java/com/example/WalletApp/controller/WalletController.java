@@ -1,15 +1,20 @@
 package com.example.WalletApp.controller;
 
+import com.example.WalletApp.dto.BalanceHistoryDTO;
 import com.example.WalletApp.dto.UserDTO;
 import com.example.WalletApp.dto.WalletDTO;
+import com.example.WalletApp.service.BalanceHistoryStep;
+import com.example.WalletApp.service.LedgerService;
 import com.example.WalletApp.service.WalletService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +30,9 @@ public class WalletController {
     @Autowired
     private WalletService walletService;
     
+    @Autowired
+    private LedgerService ledgerService;
+    
     /**
      * Create a new wallet.
      * POST /api/wallets
@@ -91,6 +99,27 @@ public class WalletController {
         }
     }
     
+    /**
+     * Get total balance of active wallets, converted into the user's currency.
+     * GET /api/wallets/total-balance
+     */
+    @GetMapping("/total-balance")
+    public ResponseEntity<?> getTotalBalance(HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
+            
+            return ResponseEntity.ok(walletService.getTotalBalance(user.getId()));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Get wallet by ID (Path Variable).
      * GET /api/wallets/{id}
@@ -113,6 +142,33 @@ public class WalletController {
         }
     }
     
+    /**
+     * Get closing balances of a wallet over a date range.
+     * GET /api/wallets/{id}/balance-history?from=yyyy-MM-dd&to=yyyy-MM-dd&step=day|week|month
+     */
+    @GetMapping("/{id}/balance-history")
+    public ResponseEntity<?> getBalanceHistory(@PathVariable Long id,
+                                               @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+                                               @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+                                               @RequestParam(required = false) String step,
+                                               HttpSession session) {
+        try {
+            UserDTO user = (UserDTO) session.getAttribute("user");
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Niste prijavljeni"));
+            }
+            
+            BalanceHistoryDTO history = ledgerService.getBalanceHistory(
+                    id, user.getId(), from, to, BalanceHistoryStep.resolve(step));
+            return ResponseEntity.ok(history);
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Update wallet.
      * PUT /api/wallets/{id}
@@ -0,0 +1,37 @@
+package com.example.WalletApp.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a wallet balance time series (closing balances at each step).
+ */
+public class BalanceHistoryDTO {
+
+    private Long walletId;
+    private String currencyName;
+    private String step;
+    private List<BalancePointDTO> points;
+
+    // Constructors
+    public BalanceHistoryDTO() {}
+
+    public BalanceHistoryDTO(Long walletId, String currencyName, String step, List<BalancePointDTO> points) {
+        this.walletId = walletId;
+        this.currencyName = currencyName;
+        this.step = step;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getWalletId() { return walletId; }
+    public void setWalletId(Long walletId) { this.walletId = walletId; }
+
+    public String getCurrencyName() { return currencyName; }
+    public void setCurrencyName(String currencyName) { this.currencyName = currencyName; }
+
+    public String getStep() { return step; }
+    public void setStep(String step) { this.step = step; }
+
+    public List<BalancePointDTO> getPoints() { return points; }
+    public void setPoints(List<BalancePointDTO> points) { this.points = points; }
+}
@@ -0,0 +1,28 @@
+package com.example.WalletApp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one point of a wallet balance history: closing balance on the given day.
+ */
+public class BalancePointDTO {
+
+    private LocalDate date;
+    private BigDecimal balance;
+
+    // Constructors
+    public BalancePointDTO() {}
+
+    public BalancePointDTO(LocalDate date, BigDecimal balance) {
+        this.date = date;
+        this.balance = balance;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
@@ -0,0 +1,53 @@
+package com.example.WalletApp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO with bulk import summary and per-row errors.
+ * Only the first errors are listed (errorsTruncated tells if more were dropped); failed counts all.
+ */
+public class ImportResultDTO {
+
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Constructors
+    public ImportResultDTO() {}
+
+    // Getters and Setters
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    /**
+     * Error for a single input line (1-based, header included).
+     */
+    public static class RowError {
+        private long line;
+        private String error;
+
+        public RowError() {}
+
+        public RowError(long line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.WalletApp.dto;
 
+import com.example.WalletApp.entity.Frequency;
+import com.example.WalletApp.entity.TransactionType;
+
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -55,6 +58,17 @@ public class TransactionDTO {
         this.frequency = frequency;
     }
     
+    /**
+     * Constructor used by JPQL constructor expressions (enums as selected from the entity).
+     */
+    public TransactionDTO(Long id, String name, BigDecimal amount, TransactionType type,
+                         Long categoryId, String categoryName, Long walletId, String walletName,
+                         Date dateOfTransaction, Long userId, String userName,
+                         boolean repeating, Frequency frequency) {
+        this(id, name, amount, type.toString(), categoryId, categoryName, walletId, walletName,
+             dateOfTransaction, userId, userName, repeating, frequency != null ? frequency.toString() : null);
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,38 @@
+package com.example.WalletApp.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset (cursor) page of transactions.
+ * nextCursor is an opaque token - clients pass it back unchanged to fetch the next page.
+ */
+public class TransactionPageDTO {
+
+    private List<TransactionDTO> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+
+    // Constructors
+    public TransactionPageDTO() {}
+
+    public TransactionPageDTO(List<TransactionDTO> content, String nextCursor, boolean hasNext, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public List<TransactionDTO> getContent() { return content; }
+    public void setContent(List<TransactionDTO> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
@@ -0,0 +1,50 @@
+package com.example.WalletApp.entity;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Rate of a currency to EUR effective from rateDate until the next row for that currency.
+ * The unique (currencyId, rateDate) key doubles as the index for "rate as of date" range lookups.
+ */
+@Entity
+@Table(name = "currency_rates",
+       uniqueConstraints = @UniqueConstraint(name = "uk_currency_rate_day", columnNames = {"currencyId", "rateDate"}))
+public class CurrencyRate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long currencyId;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date rateDate;
+    
+    @Column(nullable = false)
+    private Double valueToEur;
+    
+    // Constructors
+    public CurrencyRate() {}
+    
+    public CurrencyRate(Long currencyId, Date rateDate, Double valueToEur) {
+        this.currencyId = currencyId;
+        this.rateDate = rateDate;
+        this.valueToEur = valueToEur;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getCurrencyId() { return currencyId; }
+    public void setCurrencyId(Long currencyId) { this.currencyId = currencyId; }
+    
+    public Date getRateDate() { return rateDate; }
+    public void setRateDate(Date rateDate) { this.rateDate = rateDate; }
+    
+    public Double getValueToEur() { return valueToEur; }
+    public void setValueToEur(Double valueToEur) { this.valueToEur = valueToEur; }
+}
@@ -0,0 +1,104 @@
+package com.example.WalletApp.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exchange rate with a fixed precision of 10 decimal places, stored as a scaled long.
+ * Applying it to minor units is integer arithmetic; products that overflow a long are divided
+ * as 128-bit values, still without allocating.
+ */
+public final class ExchangeRate {
+    
+    public static final int SCALE = 10;
+    
+    private static final long UNIT = 10_000_000_000L;
+    
+    public static final ExchangeRate ONE = new ExchangeRate(UNIT);
+    
+    private final long scaledValue;
+    
+    private ExchangeRate(long scaledValue) {
+        this.scaledValue = scaledValue;
+    }
+    
+    /**
+     * Rate rounded half-up to the fixed precision.
+     */
+    public static ExchangeRate of(BigDecimal rate) {
+        if (rate.signum() < 0) {
+            throw new IllegalArgumentException("Negative exchange rate: " + rate);
+        }
+        return new ExchangeRate(rate.setScale(SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCALE).longValueExact());
+    }
+    
+    /**
+     * Convert minor units, rounding half-up to whole minor units.
+     */
+    long apply(long minorUnits) {
+        long high = Math.multiplyHigh(minorUnits, scaledValue);
+        long low = minorUnits * scaledValue;
+        if (high == (low >> 63)) {
+            long quotient = low / UNIT;
+            long remainder = low % UNIT;
+            if (Math.abs(remainder) * 2 >= UNIT) {
+                quotient += Long.signum(remainder);
+            }
+            return quotient;
+        }
+        return divideWide(high, low);
+    }
+    
+    /**
+     * 128-bit product / UNIT, half-up, in 16-bit steps so every partial dividend fits a long.
+     */
+    private static long divideWide(long high, long low) {
+        boolean negative = high < 0;
+        if (negative) {
+            low = -low;
+            high = low == 0 ? -high : ~high;
+        }
+        long quotientHigh = 0;
+        long quotientLow = 0;
+        long remainder = 0;
+        for (int shift = 112; shift >= 0; shift -= 16) {
+            long chunk = (shift >= 64 ? high >>> (shift - 64) : low >>> shift) & 0xFFFF;
+            long dividend = (remainder << 16) | chunk;
+            long digit = dividend / UNIT;
+            remainder = dividend % UNIT;
+            if (shift >= 64) {
+                quotientHigh |= digit << (shift - 64);
+            } else {
+                quotientLow |= digit << shift;
+            }
+        }
+        if (quotientHigh != 0 || quotientLow < 0) {
+            throw new ArithmeticException("Converted amount out of range");
+        }
+        if (remainder * 2 >= UNIT) {
+            quotientLow = Math.incrementExact(quotientLow);
+        }
+        return negative ? -quotientLow : quotientLow;
+    }
+    
+    public long getScaledValue() { return scaledValue; }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(scaledValue, SCALE);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ExchangeRate && ((ExchangeRate) o).scaledValue == scaledValue);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(scaledValue);
+    }
+    
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -1,5 +1,54 @@
 package com.example.WalletApp.entity;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
 public enum Frequency {
-    WEEKLY, MONTHLY, QUARTERLY, YEARLY
+    WEEKLY, MONTHLY, QUARTERLY, YEARLY;
+
+    /**
+     * First occurrence strictly after current, counted from anchor (anchor + n * period).
+     * Counting from the anchor keeps month-end dates from drifting (Jan 31 -> Feb 28 -> Mar 31).
+     */
+    public Date nextAfter(Date anchor, Date current) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime start = LocalDateTime.ofInstant(anchor.toInstant(), zone);
+        LocalDateTime after = LocalDateTime.ofInstant(current.toInstant(), zone);
+
+        long n = Math.max(0, periodsBetween(start, after));
+        LocalDateTime candidate = plusPeriods(start, n);
+        while (!candidate.isAfter(after)) {
+            n++;
+            candidate = plusPeriods(start, n);
+        }
+        return Date.from(candidate.atZone(zone).toInstant());
+    }
+
+    private long periodsBetween(LocalDateTime start, LocalDateTime end) {
+        switch (this) {
+            case WEEKLY:
+                return ChronoUnit.WEEKS.between(start, end);
+            case QUARTERLY:
+                return ChronoUnit.MONTHS.between(start, end) / 3;
+            case YEARLY:
+                return ChronoUnit.YEARS.between(start, end);
+            default:
+                return ChronoUnit.MONTHS.between(start, end);
+        }
+    }
+
+    private LocalDateTime plusPeriods(LocalDateTime start, long n) {
+        switch (this) {
+            case WEEKLY:
+                return start.plusWeeks(n);
+            case QUARTERLY:
+                return start.plusMonths(3 * n);
+            case YEARLY:
+                return start.plusYears(n);
+            default:
+                return start.plusMonths(n);
+        }
+    }
 }
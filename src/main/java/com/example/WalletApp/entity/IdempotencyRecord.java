@@ -0,0 +1,75 @@
+package com.example.WalletApp.entity;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Stored outcome of a POST made with an Idempotency-Key header.
+ * Written in the same database transaction as the write it describes,
+ * so a key is either absent or points at a committed result.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_user_key", columnNames = {"userId", "idempotencyKey"}),
+       indexes = @Index(name = "idx_idempotency_created", columnList = "dateCreated"))
+public class IdempotencyRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private String idempotencyKey;
+    
+    @Column(nullable = false)
+    private String endpoint;
+    
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+    
+    @Lob
+    private String responseBody;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date dateCreated;
+    
+    // Constructors
+    public IdempotencyRecord() {
+        this.dateCreated = new Date();
+    }
+    
+    public IdempotencyRecord(Long userId, String idempotencyKey, String endpoint, String requestHash, String responseBody) {
+        this();
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.endpoint = endpoint;
+        this.requestHash = requestHash;
+        this.responseBody = responseBody;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+    
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+    
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+    
+    public Date getDateCreated() { return dateCreated; }
+    public void setDateCreated(Date dateCreated) { this.dateCreated = dateCreated; }
+}
@@ -0,0 +1,9 @@
+package com.example.WalletApp.entity;
+
+/**
+ * Account side of a ledger leg. WALLET legs carry a wallet id; the others are
+ * the external counter-accounts that keep every posting balanced.
+ */
+public enum LedgerAccount {
+    WALLET, INCOME, EXPENSE, FX
+}
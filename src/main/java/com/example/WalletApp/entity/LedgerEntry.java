@@ -0,0 +1,106 @@
+package com.example.WalletApp.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * One leg of a double-entry posting. Legs of a posting share postingId (id of the originating
+ * transaction; the expense side for transfers) and sum to zero per currency.
+ * Rows are append-only: corrections are written as REVERSAL postings.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_wallet_effective", columnList = "walletId, effectiveDate"),
+    @Index(name = "idx_ledger_wallet_recorded", columnList = "walletId, recordedAt"),
+    @Index(name = "idx_ledger_posting", columnList = "postingId")
+})
+public class LedgerEntry {
+    
+    // Pooled sequence so legs are inserted in JDBC batches together with their transactions
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entries_seq")
+    @SequenceGenerator(name = "ledger_entries_seq", sequenceName = "ledger_entries_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long postingId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerEntryKind kind;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerAccount account;
+    
+    private Long walletId;
+    
+    @Column(nullable = false)
+    private Long currencyId;
+    
+    // Signed: positive increases the account balance
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    private Long transactionId;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date effectiveDate;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date recordedAt;
+    
+    // Constructors
+    public LedgerEntry() {
+        this.recordedAt = new Date();
+    }
+    
+    public LedgerEntry(LedgerEntryKind kind, LedgerAccount account, Long walletId, Long currencyId,
+                       BigDecimal amount, Long transactionId, Date effectiveDate) {
+        this();
+        this.kind = kind;
+        this.account = account;
+        this.walletId = walletId;
+        this.currencyId = currencyId;
+        this.amount = amount;
+        this.transactionId = transactionId;
+        this.effectiveDate = effectiveDate;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getPostingId() { return postingId; }
+    public void setPostingId(Long postingId) { this.postingId = postingId; }
+    
+    public LedgerEntryKind getKind() { return kind; }
+    public void setKind(LedgerEntryKind kind) { this.kind = kind; }
+    
+    public LedgerAccount getAccount() { return account; }
+    public void setAccount(LedgerAccount account) { this.account = account; }
+    
+    public Long getWalletId() { return walletId; }
+    public void setWalletId(Long walletId) { this.walletId = walletId; }
+    
+    public Long getCurrencyId() { return currencyId; }
+    public void setCurrencyId(Long currencyId) { this.currencyId = currencyId; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+    
+    public Date getEffectiveDate() { return effectiveDate; }
+    public void setEffectiveDate(Date effectiveDate) { this.effectiveDate = effectiveDate; }
+    
+    public Date getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(Date recordedAt) { this.recordedAt = recordedAt; }
+}
@@ -0,0 +1,5 @@
+package com.example.WalletApp.entity;
+
+public enum LedgerEntryKind {
+    TRANSACTION, REVERSAL, TRANSFER
+}
@@ -0,0 +1,118 @@
+package com.example.WalletApp.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount of money as long minor units (cents) of one currency.
+ * Arithmetic is exact long math; amounts cross over to BigDecimal (scale 2) only at the
+ * entity/DTO boundary.
+ */
+public final class Money implements Comparable<Money> {
+    
+    public static final int SCALE = 2;
+    
+    private final long minorUnits;
+    private final long currencyId;
+    
+    private Money(long minorUnits, long currencyId) {
+        this.minorUnits = minorUnits;
+        this.currencyId = currencyId;
+    }
+    
+    public static Money ofMinor(long minorUnits, Long currencyId) {
+        return new Money(minorUnits, currencyId);
+    }
+    
+    /**
+     * Amount rounded half-up to whole minor units.
+     */
+    public static Money of(BigDecimal amount, Long currencyId) {
+        // scaleByPowerOfTen keeps the compact long representation; unscaledValue() would build a BigInteger
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCALE).longValueExact(), currencyId);
+    }
+    
+    public static Money zero(Long currencyId) {
+        return new Money(0, currencyId);
+    }
+    
+    /**
+     * Sum of amounts in one currency, accumulated as a long without intermediate objects.
+     */
+    public static Money sum(Iterable<Money> amounts, Long currencyId) {
+        long total = 0;
+        for (Money amount : amounts) {
+            if (amount.currencyId != currencyId) {
+                throw new IllegalArgumentException("Currency mismatch: " + currencyId + " vs " + amount.currencyId);
+            }
+            total = Math.addExact(total, amount.minorUnits);
+        }
+        return new Money(total, currencyId);
+    }
+    
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currencyId);
+    }
+    
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currencyId);
+    }
+    
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currencyId);
+    }
+    
+    /**
+     * Amount in another currency at the given rate, rounded half-up to minor units.
+     */
+    public Money convert(ExchangeRate rate, Long toCurrencyId) {
+        if (toCurrencyId == currencyId) {
+            return this;
+        }
+        return new Money(rate.apply(minorUnits), toCurrencyId);
+    }
+    
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+    
+    public long getMinorUnits() { return minorUnits; }
+    
+    public Long getCurrencyId() { return currencyId; }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currencyId == money.currencyId;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + Long.hashCode(currencyId);
+    }
+    
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " [" + currencyId + "]";
+    }
+    
+    private void requireSameCurrency(Money other) {
+        if (other.currencyId != currencyId) {
+            throw new IllegalArgumentException("Currency mismatch: " + currencyId + " vs " + other.currencyId);
+        }
+    }
+}
@@ -5,11 +5,20 @@ import java.math.BigDecimal;
 import java.util.Date;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_user_date", columnList = "user_id, dateOfTransaction, id"),
+    @Index(name = "idx_transactions_wallet_date", columnList = "wallet_id, dateOfTransaction, id"),
+    @Index(name = "idx_transactions_category", columnList = "category_id"),
+    @Index(name = "idx_transactions_amount", columnList = "amount"),
+    @Index(name = "idx_transactions_date_amount", columnList = "dateOfTransaction, amount"),
+    @Index(name = "idx_transactions_next_due", columnList = "nextDueDate, id")
+})
 public class Transaction {
     
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,6 +46,11 @@ public class Transaction {
     @Column
     private Frequency frequency;
 
+    // Next occurrence to materialize for repeating transactions (null otherwise)
+    @Column
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextDueDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id", nullable = false)
     private Wallet wallet;
@@ -86,6 +100,9 @@ public class Transaction {
     public Frequency getFrequency() { return frequency; }
     public void setFrequency(Frequency frequency) { this.frequency = frequency; }
 
+    public Date getNextDueDate() { return nextDueDate; }
+    public void setNextDueDate(Date nextDueDate) { this.nextDueDate = nextDueDate; }
+
     public Wallet getWallet() { return wallet; }
     public void setWallet(Wallet wallet) { this.wallet = wallet; }
 
@@ -101,6 +118,10 @@ public class Transaction {
         return this.type == TransactionType.EXPENSE;
     }
 
+    public BigDecimal getSignedAmount() {
+        return this.isIncome() ? this.amount : this.amount.negate();
+    }
+
     public void updateWalletBalance() {
         if (this.wallet != null) {
             if (this.isIncome()) {
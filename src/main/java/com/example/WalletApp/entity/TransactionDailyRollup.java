@@ -0,0 +1,84 @@
+package com.example.WalletApp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Pre-aggregated transactions per (user, category, wallet, day, type).
+ * Kept in step with the transactions table by TransactionRollupService; reports read these rows
+ * instead of scanning transactions.
+ */
+@Entity
+@Table(name = "transaction_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_key",
+               columnNames = {"walletId", "rollupDate", "categoryId", "type", "userId"}),
+       indexes = @Index(name = "idx_rollup_user_day", columnList = "userId, rollupDate"))
+public class TransactionDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long categoryId;
+    
+    @Column(nullable = false)
+    private Long walletId;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date rollupDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(nullable = false)
+    private long transactionCount;
+    
+    // Constructors
+    public TransactionDailyRollup() {}
+    
+    public TransactionDailyRollup(Long userId, Long categoryId, Long walletId, Date rollupDate, TransactionType type,
+                                  BigDecimal totalAmount, long transactionCount) {
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.walletId = walletId;
+        this.rollupDate = rollupDate;
+        this.type = type;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public Long getWalletId() { return walletId; }
+    public void setWalletId(Long walletId) { this.walletId = walletId; }
+    
+    public Date getRollupDate() { return rollupDate; }
+    public void setRollupDate(Date rollupDate) { this.rollupDate = rollupDate; }
+    
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+}
@@ -41,6 +41,10 @@ public class Wallet {
     @Column(nullable = false)
     private boolean archived = false;
 
+    // Bumped by every write, including the atomic balance updates in WalletRepository
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "wallet", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Set<Transaction> transactions = new HashSet<>();
 
@@ -76,6 +80,9 @@ public class Wallet {
     public BigDecimal getCurrentBalance() { return currentBalance; }
     public void setCurrentBalance(BigDecimal currentBalance) { this.currentBalance = currentBalance; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public Date getDateOfCreation() { return dateOfCreation; }
     public void setDateOfCreation(Date dateOfCreation) { this.dateOfCreation = dateOfCreation; }
 
@@ -108,6 +115,10 @@ public class Wallet {
         transaction.setWallet(null);
     }
 
+    /**
+     * In-memory only. Persisted balances change through WalletRepository.addToBalance/withdraw,
+     * which are safe under concurrent writers.
+     */
     public void updateBalance(BigDecimal amount) {
         this.currentBalance = this.currentBalance.add(amount);
     }
@@ -0,0 +1,60 @@
+package com.example.WalletApp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Wallet balance as of a point in time, computed from the ledger.
+ * Covers every leg with effectiveDate <= asOf that was recorded up to coveredUntil;
+ * legs recorded later for earlier dates are added on read.
+ */
+@Entity
+@Table(name = "wallet_balance_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_wallet_as_of", columnNames = {"walletId", "asOf"}))
+public class WalletBalanceSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long walletId;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date asOf;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+    
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date coveredUntil;
+    
+    // Constructors
+    public WalletBalanceSnapshot() {}
+    
+    public WalletBalanceSnapshot(Long walletId, Date asOf, BigDecimal balance, Date coveredUntil) {
+        this.walletId = walletId;
+        this.asOf = asOf;
+        this.balance = balance;
+        this.coveredUntil = coveredUntil;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getWalletId() { return walletId; }
+    public void setWalletId(Long walletId) { this.walletId = walletId; }
+    
+    public Date getAsOf() { return asOf; }
+    public void setAsOf(Date asOf) { this.asOf = asOf; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    
+    public Date getCoveredUntil() { return coveredUntil; }
+    public void setCoveredUntil(Date coveredUntil) { this.coveredUntil = coveredUntil; }
+}
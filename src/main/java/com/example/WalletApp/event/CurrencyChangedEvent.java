@@ -0,0 +1,17 @@
+package com.example.WalletApp.event;
+
+/**
+ * Published when a currency is created, deleted or its rate to EUR changes.
+ * Cached figures converted between currencies must be dropped.
+ * currencyId is null when several currencies changed at once (scheduled rate refresh).
+ */
+public class CurrencyChangedEvent {
+
+    private final Long currencyId;
+
+    public CurrencyChangedEvent(Long currencyId) {
+        this.currencyId = currencyId;
+    }
+
+    public Long getCurrencyId() { return currencyId; }
+}
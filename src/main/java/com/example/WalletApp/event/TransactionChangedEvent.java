@@ -0,0 +1,68 @@
+package com.example.WalletApp.event;
+
+import com.example.WalletApp.entity.Transaction;
+import com.example.WalletApp.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Published when a transaction is created or deleted.
+ * Carries a detached copy of the fields listeners need, so they never touch lazy associations.
+ */
+public class TransactionChangedEvent {
+
+    public enum Kind { CREATED, DELETED }
+
+    private final Kind kind;
+    private final Long transactionId;
+    private final Long userId;
+    private final String username;
+    private final Long walletId;
+    private final Long categoryId;
+    private final String name;
+    private final BigDecimal amount;
+    private final TransactionType type;
+    private final Date dateOfTransaction;
+
+    private TransactionChangedEvent(Kind kind, Transaction transaction) {
+        this.kind = kind;
+        this.transactionId = transaction.getId();
+        this.userId = transaction.getUser().getId();
+        this.username = transaction.getUser().getUsername();
+        this.walletId = transaction.getWallet().getId();
+        this.categoryId = transaction.getCategory().getId();
+        this.name = transaction.getName();
+        this.amount = transaction.getAmount();
+        this.type = transaction.getType();
+        this.dateOfTransaction = transaction.getDateOfTransaction();
+    }
+
+    public static TransactionChangedEvent created(Transaction transaction) {
+        return new TransactionChangedEvent(Kind.CREATED, transaction);
+    }
+
+    public static TransactionChangedEvent deleted(Transaction transaction) {
+        return new TransactionChangedEvent(Kind.DELETED, transaction);
+    }
+
+    public Kind getKind() { return kind; }
+
+    public Long getTransactionId() { return transactionId; }
+
+    public Long getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    public Long getWalletId() { return walletId; }
+
+    public Long getCategoryId() { return categoryId; }
+
+    public String getName() { return name; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public TransactionType getType() { return type; }
+
+    public Date getDateOfTransaction() { return dateOfTransaction; }
+}
@@ -0,0 +1,35 @@
+package com.example.WalletApp.event;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Published once per bulk import instead of one TransactionChangedEvent per row.
+ * Date range covers all imported rows so listeners can invalidate only affected periods.
+ */
+public class TransactionsImportedEvent {
+
+    private final Long userId;
+    private final Set<Long> walletIds;
+    private final long count;
+    private final Date minDate;
+    private final Date maxDate;
+
+    public TransactionsImportedEvent(Long userId, Set<Long> walletIds, long count, Date minDate, Date maxDate) {
+        this.userId = userId;
+        this.walletIds = walletIds;
+        this.count = count;
+        this.minDate = minDate;
+        this.maxDate = maxDate;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public Set<Long> getWalletIds() { return walletIds; }
+
+    public long getCount() { return count; }
+
+    public Date getMinDate() { return minDate; }
+
+    public Date getMaxDate() { return maxDate; }
+}
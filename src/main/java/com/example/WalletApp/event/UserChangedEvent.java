@@ -0,0 +1,24 @@
+package com.example.WalletApp.event;
+
+/**
+ * Published when a user is registered, blocked/unblocked or their profile is updated.
+ * Deltas describe the change in total and active (not blocked) user counts.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final int userDelta;
+    private final int activeUserDelta;
+
+    public UserChangedEvent(Long userId, int userDelta, int activeUserDelta) {
+        this.userId = userId;
+        this.userDelta = userDelta;
+        this.activeUserDelta = activeUserDelta;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public int getUserDelta() { return userDelta; }
+
+    public int getActiveUserDelta() { return activeUserDelta; }
+}
@@ -0,0 +1,42 @@
+package com.example.WalletApp.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a wallet is created, archived, unarchived, deleted or its balance changes.
+ * Deltas only count wallets that are active (not archived), matching the dashboard aggregates.
+ */
+public class WalletChangedEvent {
+
+    private final Long walletId;
+    private final Long userId;
+    private final int activeWalletDelta;
+    private final BigDecimal activeBalanceDelta;
+    private final boolean deleted;
+
+    public WalletChangedEvent(Long walletId, Long userId, int activeWalletDelta,
+                              BigDecimal activeBalanceDelta, boolean deleted) {
+        this.walletId = walletId;
+        this.userId = userId;
+        this.activeWalletDelta = activeWalletDelta;
+        this.activeBalanceDelta = activeBalanceDelta;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Balance-only change of a wallet (no lifecycle change).
+     */
+    public static WalletChangedEvent balanceChanged(Long walletId, Long userId, boolean archived, BigDecimal delta) {
+        return new WalletChangedEvent(walletId, userId, 0, archived ? BigDecimal.ZERO : delta, false);
+    }
+
+    public Long getWalletId() { return walletId; }
+
+    public Long getUserId() { return userId; }
+
+    public int getActiveWalletDelta() { return activeWalletDelta; }
+
+    public BigDecimal getActiveBalanceDelta() { return activeBalanceDelta; }
+
+    public boolean isDeleted() { return deleted; }
+}
@@ -0,0 +1,29 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.CurrencyRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CurrencyRateRepository extends JpaRepository<CurrencyRate, Long> {
+    
+    Optional<CurrencyRate> findByCurrencyIdAndRateDate(Long currencyId, Date rateDate);
+    
+    /**
+     * Full rate series of several currencies in one query, oldest first.
+     */
+    @Query("SELECT r FROM CurrencyRate r WHERE r.currencyId IN :currencyIds ORDER BY r.currencyId, r.rateDate")
+    List<CurrencyRate> findSeries(@Param("currencyIds") Collection<Long> currencyIds);
+    
+    @Modifying
+    @Query("DELETE FROM CurrencyRate r WHERE r.currencyId = :currencyId")
+    int deleteByCurrencyId(@Param("currencyId") Long currencyId);
+}
@@ -0,0 +1,21 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.dateCreated < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Date cutoff);
+}
@@ -0,0 +1,70 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Append-only access to ledger legs. Sums are bounded by effective date and recording time
+ * so they combine with WalletBalanceSnapshot instead of scanning full history.
+ */
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    
+    List<LedgerEntry> findByPostingIdOrderById(Long postingId);
+    
+    List<LedgerEntry> findByTransactionIdOrderById(Long transactionId);
+    
+    /**
+     * Full-history sum for one wallet; audits only, regular reads go through snapshots.
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e WHERE e.walletId = :walletId")
+    BigDecimal sumForWallet(@Param("walletId") Long walletId);
+    
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e WHERE e.walletId = :walletId " +
+           "AND e.effectiveDate <= :until AND e.recordedAt <= :recordedUntil")
+    BigDecimal sumUpTo(@Param("walletId") Long walletId, 
+                       @Param("until") Date until, 
+                       @Param("recordedUntil") Date recordedUntil);
+    
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e WHERE e.walletId = :walletId " +
+           "AND e.effectiveDate > :from AND e.effectiveDate <= :until AND e.recordedAt <= :recordedUntil")
+    BigDecimal sumBetween(@Param("walletId") Long walletId, 
+                          @Param("from") Date from, 
+                          @Param("until") Date until, 
+                          @Param("recordedUntil") Date recordedUntil);
+    
+    /**
+     * Legs for dates already covered by a snapshot but recorded after it was taken.
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e WHERE e.walletId = :walletId " +
+           "AND e.effectiveDate <= :until AND e.recordedAt > :recordedAfter AND e.recordedAt <= :recordedUntil")
+    BigDecimal sumRecordedLate(@Param("walletId") Long walletId, 
+                               @Param("until") Date until, 
+                               @Param("recordedAfter") Date recordedAfter, 
+                               @Param("recordedUntil") Date recordedUntil);
+    
+    /**
+     * Daily wallet deltas in (from, until] as [year, month, day, sum]; only days with legs are returned.
+     */
+    @Query("SELECT YEAR(e.effectiveDate), MONTH(e.effectiveDate), DAY(e.effectiveDate), SUM(e.amount) " +
+           "FROM LedgerEntry e WHERE e.walletId = :walletId " +
+           "AND e.effectiveDate > :from AND e.effectiveDate <= :until AND e.recordedAt <= :recordedUntil " +
+           "GROUP BY YEAR(e.effectiveDate), MONTH(e.effectiveDate), DAY(e.effectiveDate)")
+    List<Object[]> sumByDayBetween(@Param("walletId") Long walletId, 
+                                   @Param("from") Date from, 
+                                   @Param("until") Date until, 
+                                   @Param("recordedUntil") Date recordedUntil);
+    
+    /**
+     * Per-currency totals of all legs; every currency must net to zero.
+     */
+    @Query("SELECT e.currencyId, SUM(e.amount) FROM LedgerEntry e GROUP BY e.currencyId")
+    List<Object[]> sumByCurrency();
+}
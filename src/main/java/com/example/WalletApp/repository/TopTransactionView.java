@@ -0,0 +1,25 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Interface projection for top-N transaction listings.
+ * Carries only the columns the admin dashboard shows (plus the owner's username).
+ */
+public interface TopTransactionView {
+
+    Long getId();
+
+    String getName();
+
+    BigDecimal getAmount();
+
+    TransactionType getType();
+
+    Date getDateOfTransaction();
+
+    String getUsername();
+}
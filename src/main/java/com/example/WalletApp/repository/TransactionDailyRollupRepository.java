@@ -0,0 +1,79 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.TransactionDailyRollup;
+import com.example.WalletApp.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface TransactionDailyRollupRepository extends JpaRepository<TransactionDailyRollup, Long> {
+    
+    /**
+     * Add to an existing rollup row; returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE TransactionDailyRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+           "r.transactionCount = r.transactionCount + :count " +
+           "WHERE r.walletId = :walletId AND r.rollupDate = :rollupDate AND r.categoryId = :categoryId " +
+           "AND r.type = :type AND r.userId = :userId")
+    int increment(@Param("userId") Long userId, 
+                  @Param("categoryId") Long categoryId, 
+                  @Param("walletId") Long walletId, 
+                  @Param("rollupDate") Date rollupDate, 
+                  @Param("type") TransactionType type, 
+                  @Param("amount") BigDecimal amount, 
+                  @Param("count") long count);
+    
+    @Modifying
+    @Query("DELETE FROM TransactionDailyRollup r WHERE r.walletId = :walletId AND r.transactionCount <= 0")
+    int deleteEmptyByWalletId(@Param("walletId") Long walletId);
+    
+    @Modifying
+    @Query("DELETE FROM TransactionDailyRollup r WHERE r.walletId = :walletId")
+    int deleteByWalletId(@Param("walletId") Long walletId);
+    
+    /**
+     * Totals per type for a user's days in [from, to], as [type, sum, count].
+     */
+    @Query("SELECT r.type, SUM(r.totalAmount), SUM(r.transactionCount) FROM TransactionDailyRollup r " +
+           "WHERE r.userId = :userId AND r.rollupDate BETWEEN :from AND :to GROUP BY r.type")
+    List<Object[]> sumByType(@Param("userId") Long userId, 
+                             @Param("from") Date from, 
+                             @Param("to") Date to);
+    
+    /**
+     * Totals per category of one type for a user's days in [from, to], as [categoryId, categoryName, sum, count].
+     */
+    @Query("SELECT r.categoryId, c.name, SUM(r.totalAmount), SUM(r.transactionCount) " +
+           "FROM TransactionDailyRollup r, Category c WHERE c.id = r.categoryId " +
+           "AND r.userId = :userId AND r.type = :type AND r.rollupDate BETWEEN :from AND :to " +
+           "GROUP BY r.categoryId, c.name ORDER BY SUM(r.totalAmount) DESC")
+    List<Object[]> sumByCategory(@Param("userId") Long userId, 
+                                 @Param("type") TransactionType type, 
+                                 @Param("from") Date from, 
+                                 @Param("to") Date to);
+    
+    /**
+     * Income and expense per category, wallet currency and day for a user's days in [from, to],
+     * as [categoryId, categoryName, currencyId, day, income, expense, count]; converted by the caller
+     * at each day's rate.
+     */
+    @Query("SELECT r.categoryId, c.name, w.currency.id, r.rollupDate, " +
+           "SUM(CASE WHEN r.type = 'INCOME' THEN r.totalAmount ELSE 0 END), " +
+           "SUM(CASE WHEN r.type = 'EXPENSE' THEN r.totalAmount ELSE 0 END), " +
+           "SUM(r.transactionCount) " +
+           "FROM TransactionDailyRollup r, Category c, Wallet w " +
+           "WHERE c.id = r.categoryId AND w.id = r.walletId " +
+           "AND r.userId = :userId AND r.rollupDate BETWEEN :from AND :to " +
+           "GROUP BY r.categoryId, c.name, w.currency.id, r.rollupDate")
+    List<Object[]> sumByCategoryCurrencyAndDay(@Param("userId") Long userId, 
+                                               @Param("from") Date from, 
+                                               @Param("to") Date to);
+}
@@ -1,19 +1,36 @@
 package com.example.WalletApp.repository;
 
+import com.example.WalletApp.dto.TransactionDTO;
 import com.example.WalletApp.entity.Transaction;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+    
+    /**
+     * Read-model select: builds TransactionDTO directly, joining only the columns it needs.
+     */
+    String DTO_SELECT = "SELECT new com.example.WalletApp.dto.TransactionDTO(" +
+            "t.id, t.name, t.amount, t.type, c.id, c.name, w.id, w.name, " +
+            "t.dateOfTransaction, u.id, u.username, t.repeating, t.frequency) " +
+            "FROM Transaction t JOIN t.category c JOIN t.wallet w JOIN t.user u ";
     
     List<Transaction> findByUserId(Long userId);
     
@@ -25,6 +42,41 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     List<Transaction> findByUserIdAndRepeating(Long userId, boolean repeating);
     
+    @Query(DTO_SELECT + "WHERE u.id = :userId ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findDTOsByUserId(@Param("userId") Long userId);
+    
+    @Query(DTO_SELECT + "WHERE w.id = :walletId ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findDTOsByWalletId(@Param("walletId") Long walletId);
+    
+    @Query(DTO_SELECT + "WHERE u.id = :userId AND t.dateOfTransaction BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findDTOsByUserIdAndDateRange(@Param("userId") Long userId, 
+                                                    @Param("startDate") Date startDate, 
+                                                    @Param("endDate") Date endDate);
+    
+    @Query(DTO_SELECT + "ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findAllDTOs();
+    
+    @Query(DTO_SELECT + "WHERE u.id = :userId ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE u.id = :userId AND (t.dateOfTransaction < :date OR (t.dateOfTransaction = :date AND t.id < :id)) " +
+           "ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findPageByUserIdAfter(@Param("userId") Long userId, 
+                                             @Param("date") Date date, 
+                                             @Param("id") Long id, 
+                                             Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE w.id = :walletId ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findFirstPageByWalletId(@Param("walletId") Long walletId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE w.id = :walletId AND (t.dateOfTransaction < :date OR (t.dateOfTransaction = :date AND t.id < :id)) " +
+           "ORDER BY t.dateOfTransaction DESC, t.id DESC")
+    List<TransactionDTO> findPageByWalletIdAfter(@Param("walletId") Long walletId, 
+                                               @Param("date") Date date, 
+                                               @Param("id") Long id, 
+                                               Pageable pageable);
+    
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.dateOfTransaction BETWEEN :startDate AND :endDate")
     List<Transaction> findByUserIdAndDateRange(@Param("userId") Long userId, 
                                              @Param("startDate") Date startDate, 
@@ -38,11 +90,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                @Param("minAmount") BigDecimal minAmount, 
                                                @Param("maxAmount") BigDecimal maxAmount);
     
-    @Query("SELECT t FROM Transaction t WHERE t.dateOfTransaction >= :date ORDER BY t.amount DESC")
-    Page<Transaction> findTopTransactionsByDate(@Param("date") Date date, Pageable pageable);
+    @Query(DTO_SELECT + "WHERE t.dateOfTransaction >= :date ORDER BY t.amount DESC")
+    List<TransactionDTO> findTopTransactionsByDate(@Param("date") Date date, Pageable pageable);
     
-    @Query("SELECT t FROM Transaction t WHERE t.dateOfTransaction >= :date ORDER BY t.amount DESC")
-    List<Transaction> findTop10TransactionsByDate(@Param("date") Date date);
+    @Query("SELECT t.id AS id, t.name AS name, t.amount AS amount, t.type AS type, " +
+           "t.dateOfTransaction AS dateOfTransaction, u.username AS username " +
+           "FROM Transaction t JOIN t.user u WHERE t.dateOfTransaction >= :date ORDER BY t.amount DESC")
+    List<TopTransactionView> findTopTransactionSummariesByDate(@Param("date") Date date, Pageable pageable);
     
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.type = 'INCOME' AND t.dateOfTransaction BETWEEN :startDate AND :endDate")
     BigDecimal getTotalIncomeByUserIdAndDateRange(@Param("userId") Long userId, 
@@ -59,6 +113,40 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                    @Param("startDate") Date startDate, 
                                                    @Param("endDate") Date endDate);
     
+    /**
+     * Daily aggregates of one wallet for rebuilding rollups,
+     * as [userId, categoryId, year, month, day, type, sum, count].
+     */
+    @Query("SELECT t.user.id, t.category.id, YEAR(t.dateOfTransaction), MONTH(t.dateOfTransaction), " +
+           "DAY(t.dateOfTransaction), t.type, SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.wallet.id = :walletId " +
+           "GROUP BY t.user.id, t.category.id, YEAR(t.dateOfTransaction), MONTH(t.dateOfTransaction), " +
+           "DAY(t.dateOfTransaction), t.type")
+    List<Object[]> aggregateDailyByWalletId(@Param("walletId") Long walletId);
+    
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query(DTO_SELECT + "WHERE u.id = :userId ORDER BY t.dateOfTransaction, t.id")
+    Stream<TransactionDTO> streamByUserId(@Param("userId") Long userId);
+    
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query(DTO_SELECT + "ORDER BY t.dateOfTransaction, t.id")
+    Stream<TransactionDTO> streamAll();
+    
     @Query("SELECT t FROM Transaction t WHERE t.repeating = true AND t.dateOfTransaction <= :date")
     List<Transaction> findRepeatingTransactionsDue(@Param("date") Date date);
+    
+    @Query("SELECT t.id, t.user.id FROM Transaction t WHERE t.repeating = true AND t.nextDueDate <= :now AND t.id > :afterId ORDER BY t.id")
+    List<Object[]> findDueRecurringRules(@Param("now") Date now, 
+                                       @Param("afterId") Long afterId, 
+                                       Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.wallet JOIN FETCH t.user JOIN FETCH t.category WHERE t.id IN :ids")
+    List<Transaction> findRecurringRulesByIds(@Param("ids") List<Long> ids);
 }
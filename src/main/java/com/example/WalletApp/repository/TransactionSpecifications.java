@@ -0,0 +1,119 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.Category;
+import com.example.WalletApp.entity.Transaction;
+import com.example.WalletApp.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Reusable JPA Specifications for admin transaction search.
+ * Each filter returns null when its argument is empty, so Specification.where() skips it.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {}
+
+    /**
+     * Fetch-join associations used by DTO mapping (skipped for count queries).
+     */
+    public static Specification<Transaction> fetchAssociations() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("user", JoinType.INNER);
+                root.fetch("category", JoinType.INNER);
+                root.fetch("wallet", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Match username, first name, last name or email (case-insensitive, contains).
+     */
+    public static Specification<Transaction> userMatches(String user) {
+        if (user == null || user.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + user.trim().toLowerCase() + "%";
+        return (root, query, cb) -> {
+            Join<Transaction, User> userJoin = join(root, "user");
+            return cb.or(
+                cb.like(cb.lower(userJoin.get("username")), pattern),
+                cb.like(cb.lower(userJoin.get("firstName")), pattern),
+                cb.like(cb.lower(userJoin.get("lastName")), pattern),
+                cb.like(cb.lower(userJoin.get("email")), pattern)
+            );
+        };
+    }
+
+    /**
+     * Match category name (case-insensitive, contains).
+     */
+    public static Specification<Transaction> categoryMatches(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + category.trim().toLowerCase() + "%";
+        return (root, query, cb) -> {
+            Join<Transaction, Category> categoryJoin = join(root, "category");
+            return cb.like(cb.lower(categoryJoin.get("name")), pattern);
+        };
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal minAmount) {
+        if (minAmount == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal maxAmount) {
+        if (maxAmount == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    public static Specification<Transaction> dateFrom(Date startDate) {
+        if (startDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateOfTransaction"), startDate);
+    }
+
+    /**
+     * End date is inclusive for the whole day, so the bound is the start of the next day.
+     */
+    public static Specification<Transaction> dateBefore(Date endDate) {
+        if (endDate == null) {
+            return null;
+        }
+        Date endExclusive = new Date(endDate.getTime() + 24L * 60 * 60 * 1000);
+        return (root, query, cb) -> cb.lessThan(root.get("dateOfTransaction"), endExclusive);
+    }
+
+    /**
+     * Reuse an existing (fetch) join for the attribute instead of adding a second one.
+     */
+    @SuppressWarnings("unchecked")
+    private static <Y> Join<Transaction, Y> join(Root<Transaction> root, String attribute) {
+        for (Fetch<Transaction, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals(attribute)) {
+                return (Join<Transaction, Y>) fetch;
+            }
+        }
+        for (Join<Transaction, ?> existing : root.getJoins()) {
+            if (existing.getAttribute().getName().equals(attribute)) {
+                return (Join<Transaction, Y>) existing;
+            }
+        }
+        return root.join(attribute, JoinType.INNER);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.WalletApp.repository;
+
+import com.example.WalletApp.entity.WalletBalanceSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface WalletBalanceSnapshotRepository extends JpaRepository<WalletBalanceSnapshot, Long> {
+    
+    @Query("SELECT s FROM WalletBalanceSnapshot s WHERE s.walletId = :walletId AND s.asOf <= :asOf " +
+           "ORDER BY s.asOf DESC")
+    List<WalletBalanceSnapshot> findLatestAtOrBefore(@Param("walletId") Long walletId, 
+                                                     @Param("asOf") Date asOf, 
+                                                     Pageable pageable);
+    
+    boolean existsByWalletIdAndAsOf(Long walletId, Date asOf);
+}
@@ -1,12 +1,17 @@
 package com.example.WalletApp.repository;
 
 import com.example.WalletApp.entity.Wallet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,15 +26,54 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
     @Query("SELECT w FROM Wallet w WHERE w.user.id = :userId AND w.archived = false")
     List<Wallet> findActiveWalletsByUserId(@Param("userId") Long userId);
     
+    /**
+     * Raw sum across currencies; use getBalancesByCurrency for a converted total.
+     */
     @Query("SELECT SUM(w.currentBalance) FROM Wallet w WHERE w.user.id = :userId AND w.archived = false")
     BigDecimal getTotalBalanceByUserId(@Param("userId") Long userId);
     
+    /**
+     * Active wallet balances of a user per currency, as [currencyId, sum].
+     */
+    @Query("SELECT w.currency.id, SUM(w.currentBalance) FROM Wallet w " +
+           "WHERE w.user.id = :userId AND w.archived = false GROUP BY w.currency.id")
+    List<Object[]> getBalancesByCurrency(@Param("userId") Long userId);
+    
+    @Query("SELECT COUNT(w) FROM Wallet w WHERE w.archived = false")
+    long countActiveWallets();
+    
     @Query("SELECT AVG(w.currentBalance) FROM Wallet w WHERE w.archived = false")
     BigDecimal getAverageWalletBalance();
     
     @Query("SELECT SUM(w.currentBalance) FROM Wallet w WHERE w.archived = false")
     BigDecimal getTotalSystemBalance();
     
+    /**
+     * Atomic balance change; concurrent callers never lose each other's updates.
+     */
+    @Modifying
+    @Query("UPDATE Wallet w SET w.currentBalance = w.currentBalance + :delta, w.version = w.version + 1 " +
+           "WHERE w.id = :walletId")
+    int addToBalance(@Param("walletId") Long walletId, @Param("delta") BigDecimal delta);
+    
+    /**
+     * Atomic debit that only succeeds while funds are sufficient; returns 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Wallet w SET w.currentBalance = w.currentBalance - :amount, w.version = w.version + 1 " +
+           "WHERE w.id = :walletId AND w.currentBalance >= :amount")
+    int withdraw(@Param("walletId") Long walletId, @Param("amount") BigDecimal amount);
+    
+    @Query("SELECT w.id, w.initialBalance FROM Wallet w WHERE w.id > :afterId ORDER BY w.id")
+    List<Object[]> findIdsAndInitialBalancesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Row-lock wallets in ascending id order, blocking balance updates until commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id IN :ids ORDER BY w.id")
+    List<Wallet> lockByIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT w FROM Wallet w WHERE w.currency.id = :currencyId")
     List<Wallet> findByCurrencyId(@Param("currencyId") Long currencyId);
 }
@@ -7,7 +7,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.*;
 
 /**
@@ -23,10 +22,7 @@ public class AdminService {
     private AdminNoteRepository adminNoteRepository;
     
     @Autowired
-    private TransactionRepository transactionRepository;
-    
-    @Autowired
-    private WalletRepository walletRepository;
+    private DashboardMetricsSnapshot dashboardMetricsSnapshot;
     
     /**
      * Add admin note about a user.
@@ -55,69 +51,10 @@ public class AdminService {
     
     /**
      * Get dashboard metrics for admin.
+     * Served from the incrementally maintained snapshot instead of querying on every call.
      */
     public Map<String, Object> getDashboardMetrics() {
-        Map<String, Object> metrics = new HashMap<>();
-        
-        // Total users
-        long totalUsers = userRepository.count();
-        metrics.put("totalUsers", totalUsers);
-        
-        // Active users (not blocked)
-        long activeUsers = userRepository.countActiveUsers();
-        metrics.put("activeUsers", activeUsers);
-        
-        // Total system balance
-        BigDecimal totalBalance = walletRepository.getTotalSystemBalance();
-        metrics.put("totalSystemBalance", totalBalance != null ? totalBalance : BigDecimal.ZERO);
-        
-        // Average wallet balance
-        BigDecimal avgBalance = walletRepository.getAverageWalletBalance();
-        metrics.put("averageWalletBalance", avgBalance != null ? avgBalance : BigDecimal.ZERO);
-        
-        // Top 10 transactions in last 30 days
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, -30);
-        Date thirtyDaysAgo = cal.getTime();
-        
-        List<?> top10Last30Days = transactionRepository.findTop10TransactionsByDate(thirtyDaysAgo)
-                .stream()
-                .limit(10)
-                .map(t -> {
-                    Map<String, Object> txMap = new HashMap<>();
-                    txMap.put("id", t.getId());
-                    txMap.put("name", t.getName());
-                    txMap.put("amount", t.getAmount());
-                    txMap.put("type", t.getType().toString());
-                    txMap.put("date", t.getDateOfTransaction());
-                    txMap.put("user", t.getUser().getUsername());
-                    return txMap;
-                })
-                .toList();
-        metrics.put("top10Transactions30Days", top10Last30Days);
-        
-        // Top 10 transactions in last 2 minutes (for testing)
-        Calendar cal2 = Calendar.getInstance();
-        cal2.add(Calendar.MINUTE, -2);
-        Date twoMinutesAgo = cal2.getTime();
-        
-        List<?> top10Last2Minutes = transactionRepository.findTop10TransactionsByDate(twoMinutesAgo)
-                .stream()
-                .limit(10)
-                .map(t -> {
-                    Map<String, Object> txMap = new HashMap<>();
-                    txMap.put("id", t.getId());
-                    txMap.put("name", t.getName());
-                    txMap.put("amount", t.getAmount());
-                    txMap.put("type", t.getType().toString());
-                    txMap.put("date", t.getDateOfTransaction());
-                    txMap.put("user", t.getUser().getUsername());
-                    return txMap;
-                })
-                .toList();
-        metrics.put("top10Transactions2Minutes", top10Last2Minutes);
-        
-        return metrics;
+        return dashboardMetricsSnapshot.getMetrics();
     }
     
     /**
@@ -0,0 +1,33 @@
+package com.example.WalletApp.service;
+
+import java.time.LocalDate;
+
+/**
+ * Spacing of points in a wallet balance history.
+ */
+public enum BalanceHistoryStep {
+    DAY, WEEK, MONTH;
+
+    public static BalanceHistoryStep resolve(String step) {
+        if (step == null || step.isEmpty()) {
+            return DAY;
+        }
+        try {
+            return valueOf(step.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Nepoznat korak: " + step);
+        }
+    }
+
+    /**
+     * The n-th point counted from the first one, so month-end dates do not drift
+     * (Jan 31 -> Feb 28 -> Mar 31, like Frequency.nextAfter).
+     */
+    public LocalDate point(LocalDate from, long n) {
+        switch (this) {
+            case WEEK: return from.plusWeeks(n);
+            case MONTH: return from.plusMonths(n);
+            default: return from.plusDays(n);
+        }
+    }
+}
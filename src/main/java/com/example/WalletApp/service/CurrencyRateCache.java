@@ -0,0 +1,162 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.Currency;
+import com.example.WalletApp.entity.ExchangeRate;
+import com.example.WalletApp.entity.Money;
+import com.example.WalletApp.event.CurrencyChangedEvent;
+import com.example.WalletApp.repository.CurrencyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory exchange rates as an immutable cross-rate matrix (from currency x to currency).
+ * Lookups are lock-free array reads; a committed currency change builds a new matrix from the
+ * database and swaps it in with one volatile write, before other listeners drop converted figures.
+ */
+@Component
+public class CurrencyRateCache {
+
+    public static final MathContext RATE_CONTEXT = MathContext.DECIMAL64;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    private volatile RateMatrix matrix;
+
+    /**
+     * Rate that converts an amount in one currency into another.
+     */
+    public BigDecimal rate(Long fromCurrencyId, Long toCurrencyId) {
+        return lookup(fromCurrencyId, toCurrencyId, (matrix, from, to) -> matrix.rates[from][to]);
+    }
+
+    /**
+     * Same rate at the fixed precision used for Money conversions.
+     */
+    public ExchangeRate exchangeRate(Long fromCurrencyId, Long toCurrencyId) {
+        return lookup(fromCurrencyId, toCurrencyId, (matrix, from, to) -> matrix.exchangeRates[from][to]);
+    }
+
+    /**
+     * Convert an amount between currencies, rounded to 2 decimals.
+     */
+    public BigDecimal convert(BigDecimal amount, Long fromCurrencyId, Long toCurrencyId) {
+        if (fromCurrencyId.equals(toCurrencyId)) {
+            return amount;
+        }
+        return convert(Money.of(amount, fromCurrencyId), toCurrencyId).toBigDecimal();
+    }
+
+    /**
+     * Convert money into another currency, rounded half-up to minor units.
+     */
+    public Money convert(Money amount, Long toCurrencyId) {
+        if (amount.getCurrencyId().equals(toCurrencyId)) {
+            return amount;
+        }
+        return amount.convert(exchangeRate(amount.getCurrencyId(), toCurrencyId), toCurrencyId);
+    }
+
+    /**
+     * Value of one unit of the currency in EUR.
+     */
+    public BigDecimal valueToEur(Long currencyId) {
+        RateMatrix current = current();
+        Integer index = current.index.get(currencyId);
+        if (index == null) {
+            current = reload();
+            index = current.index.get(currencyId);
+            if (index == null) {
+                throw new RuntimeException("Valuta ne postoji");
+            }
+        }
+        return current.valueToEur[index];
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * Build a new matrix from the currencies table and publish it.
+     */
+    public synchronized RateMatrix reload() {
+        RateMatrix loaded = new RateMatrix(currencyRepository.findAll());
+        matrix = loaded;
+        return loaded;
+    }
+
+    private <T> T lookup(Long fromCurrencyId, Long toCurrencyId, CellReader<T> reader) {
+        RateMatrix current = current();
+        Integer from = current.index.get(fromCurrencyId);
+        Integer to = current.index.get(toCurrencyId);
+        if (from == null || to == null) {
+            current = reload();
+            from = current.index.get(fromCurrencyId);
+            to = current.index.get(toCurrencyId);
+            if (from == null || to == null) {
+                throw new RuntimeException("Valuta ne postoji");
+            }
+        }
+        T cell = reader.read(current, from, to);
+        if (cell == null) {
+            throw new RuntimeException("Kurs valute nije postavljen");
+        }
+        return cell;
+    }
+
+    private RateMatrix current() {
+        RateMatrix current = matrix;
+        return current != null ? current : reload();
+    }
+
+    private interface CellReader<T> {
+        T read(RateMatrix matrix, int from, int to);
+    }
+
+    /**
+     * Immutable snapshot of all rates; never modified after construction.
+     */
+    static final class RateMatrix {
+
+        private final Map<Long, Integer> index;
+        private final BigDecimal[] valueToEur;
+        private final BigDecimal[][] rates;
+        private final ExchangeRate[][] exchangeRates;
+
+        private RateMatrix(List<Currency> currencies) {
+            Map<Long, Integer> positions = new HashMap<>();
+            valueToEur = new BigDecimal[currencies.size()];
+            for (int i = 0; i < currencies.size(); i++) {
+                positions.put(currencies.get(i).getId(), i);
+                valueToEur[i] = BigDecimal.valueOf(currencies.get(i).getValueToEur());
+            }
+            index = Map.copyOf(positions);
+
+            rates = new BigDecimal[valueToEur.length][valueToEur.length];
+            exchangeRates = new ExchangeRate[valueToEur.length][valueToEur.length];
+            for (int from = 0; from < valueToEur.length; from++) {
+                for (int to = 0; to < valueToEur.length; to++) {
+                    if (from == to) {
+                        rates[from][to] = BigDecimal.ONE;
+                        exchangeRates[from][to] = ExchangeRate.ONE;
+                    } else if (valueToEur[to].signum() != 0) {
+                        rates[from][to] = valueToEur[from].divide(valueToEur[to], RATE_CONTEXT);
+                        exchangeRates[from][to] = ExchangeRate.of(rates[from][to]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.CurrencyRate;
+import com.example.WalletApp.event.CurrencyChangedEvent;
+import com.example.WalletApp.repository.CurrencyRateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Service for historical exchange rates (currency_rates), so old amounts convert at the rate of their day.
+ * Each currency's series is cached as a NavigableMap; "as of" lookups are a floorEntry.
+ * Dates before the first known rate use that first rate.
+ */
+@Service
+public class CurrencyRateHistory {
+
+    @Autowired
+    private CurrencyRateRepository currencyRateRepository;
+
+    @Autowired
+    private CurrencyRateCache currencyRateCache;
+
+    private final GenerationCache<Long, NavigableMap<LocalDate, BigDecimal>> seriesCache = new GenerationCache<>();
+
+    /**
+     * Record a currency's rate effective from the given day; a second change on the same day replaces it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long currencyId, LocalDate day, Double valueToEur) {
+        Date rateDate = toDate(day);
+        CurrencyRate rate = currencyRateRepository.findByCurrencyIdAndRateDate(currencyId, rateDate)
+                .orElseGet(() -> new CurrencyRate(currencyId, rateDate, valueToEur));
+        rate.setValueToEur(valueToEur);
+        currencyRateRepository.save(rate);
+    }
+
+    /**
+     * Drop the history of a deleted currency.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteHistory(Long currencyId) {
+        currencyRateRepository.deleteByCurrencyId(currencyId);
+    }
+
+    /**
+     * Value of one unit of the currency in EUR on the given day.
+     */
+    public BigDecimal valueToEurAsOf(Long currencyId, LocalDate day) {
+        return resolve(List.of(currencyId)).valueToEur(currencyId, day);
+    }
+
+    /**
+     * Rate series for all given currencies, loading the uncached ones with a single query.
+     * Use this before converting many rows instead of looking rates up per row.
+     */
+    public RateTable resolve(Collection<Long> currencyIds) {
+        Map<Long, NavigableMap<LocalDate, BigDecimal>> resolved = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long currencyId : new HashSet<>(currencyIds)) {
+            NavigableMap<LocalDate, BigDecimal> series = seriesCache.get(currencyId);
+            if (series != null) {
+                resolved.put(currencyId, series);
+            } else {
+                missing.add(currencyId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return new RateTable(resolved);
+        }
+
+        long generation = seriesCache.generation();
+        Map<Long, TreeMap<LocalDate, BigDecimal>> loaded = new HashMap<>();
+        for (CurrencyRate rate : currencyRateRepository.findSeries(missing)) {
+            loaded.computeIfAbsent(rate.getCurrencyId(), id -> new TreeMap<>())
+                    .put(toLocalDate(rate.getRateDate()), BigDecimal.valueOf(rate.getValueToEur()));
+        }
+        for (Long currencyId : missing) {
+            TreeMap<LocalDate, BigDecimal> series = loaded.get(currencyId);
+            if (series == null) {
+                // No history recorded: the current rate applies to every date
+                series = new TreeMap<>();
+                series.put(LocalDate.MIN, currencyRateCache.valueToEur(currencyId));
+            }
+            NavigableMap<LocalDate, BigDecimal> immutable = Collections.unmodifiableNavigableMap(series);
+            resolved.put(currencyId, immutable);
+            seriesCache.put(currencyId, immutable, generation);
+        }
+        return new RateTable(resolved);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        if (event.getCurrencyId() == null) {
+            seriesCache.clear();
+        } else {
+            seriesCache.evict(event.getCurrencyId());
+        }
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        // java.sql.Date does not support toInstant()
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Resolved rate series for a fixed set of currencies; lookups never touch the database.
+     */
+    public static final class RateTable {
+
+        private final Map<Long, NavigableMap<LocalDate, BigDecimal>> series;
+
+        private RateTable(Map<Long, NavigableMap<LocalDate, BigDecimal>> series) {
+            this.series = series;
+        }
+
+        /**
+         * Value of one unit of the currency in EUR on the given day.
+         */
+        public BigDecimal valueToEur(Long currencyId, LocalDate day) {
+            NavigableMap<LocalDate, BigDecimal> rates = series.get(currencyId);
+            if (rates == null) {
+                throw new RuntimeException("Valuta ne postoji");
+            }
+            Map.Entry<LocalDate, BigDecimal> rate = rates.floorEntry(day);
+            return rate != null ? rate.getValue() : rates.firstEntry().getValue();
+        }
+    }
+}
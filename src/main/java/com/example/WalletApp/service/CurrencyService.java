@@ -2,14 +2,17 @@ package com.example.WalletApp.service;
 
 import com.example.WalletApp.dto.CurrencyDTO;
 import com.example.WalletApp.entity.Currency;
+import com.example.WalletApp.event.CurrencyChangedEvent;
 import com.example.WalletApp.repository.CurrencyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +24,15 @@ public class CurrencyService {
     @Autowired
     private CurrencyRepository currencyRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ExchangeRateRefresher exchangeRateRefresher;
+    
+    @Autowired
+    private CurrencyRateHistory currencyRateHistory;
+    
     /**
      * Get all currencies.
      */
@@ -49,6 +61,8 @@ public class CurrencyService {
         currency.setValueToEur(currencyDTO.getValueToEur());
         
         Currency savedCurrency = currencyRepository.save(currency);
+        currencyRateHistory.record(savedCurrency.getId(), LocalDate.now(), savedCurrency.getValueToEur());
+        eventPublisher.publishEvent(new CurrencyChangedEvent(savedCurrency.getId()));
         return convertToDTO(savedCurrency);
     }
     
@@ -60,41 +74,28 @@ public class CurrencyService {
         Currency currency = currencyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Valuta ne postoji"));
         
+        boolean rateChanged = !Objects.equals(currencyDTO.getValueToEur(), currency.getValueToEur());
         currency.setName(currencyDTO.getName());
         currency.setValueToEur(currencyDTO.getValueToEur());
         
         Currency updatedCurrency = currencyRepository.save(currency);
+        if (rateChanged) {
+            currencyRateHistory.record(updatedCurrency.getId(), LocalDate.now(), updatedCurrency.getValueToEur());
+        }
+        eventPublisher.publishEvent(new CurrencyChangedEvent(updatedCurrency.getId()));
         return convertToDTO(updatedCurrency);
     }
     
     /**
-     * BONUS: Fetch latest exchange rate from Frankfurter API.
-     * Example: https://api.frankfurter.app/latest?from=EUR
+     * BONUS: Latest exchange rate from the Frankfurter API, as valueToEur.
+     * Rates are fetched in the background by ExchangeRateRefresher; when none is available yet
+     * a refresh is queued and the caller is asked to retry.
      */
     public Double fetchExchangeRateFromAPI(String currencyCode) {
-        try {
-            String apiUrl = "https://api.frankfurter.app/latest?from=EUR&to=" + currencyCode;
-            RestTemplate restTemplate = new RestTemplate();
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.getForObject(apiUrl, Map.class);
-            
-            if (response != null && response.containsKey("rates")) {
-                @SuppressWarnings("unchecked")
-                Map<String, Double> rates = (Map<String, Double>) response.get("rates");
-                
-                if (rates.containsKey(currencyCode)) {
-                    Double rate = rates.get(currencyCode);
-                    // Convert to valueToEur (inverse of rate from EUR)
-                    return 1.0 / rate;
-                }
-            }
-            
-            throw new RuntimeException("Nije moguće preuzeti kurs za valutu: " + currencyCode);
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Greška pri preuzimanju kursa: " + e.getMessage());
-        }
+        return exchangeRateRefresher.latestValueToEur(currencyCode).orElseThrow(() -> {
+            exchangeRateRefresher.requestRefresh();
+            return new RuntimeException("Kurs za valutu " + currencyCode + " još nije preuzet, pokušajte ponovo za nekoliko sekundi");
+        });
     }
     
     /**
@@ -113,6 +114,8 @@ public class CurrencyService {
         currency.setValueToEur(newRate);
         
         Currency updatedCurrency = currencyRepository.save(currency);
+        currencyRateHistory.record(updatedCurrency.getId(), LocalDate.now(), newRate);
+        eventPublisher.publishEvent(new CurrencyChangedEvent(updatedCurrency.getId()));
         return convertToDTO(updatedCurrency);
     }
     
@@ -125,6 +128,8 @@ public class CurrencyService {
                 .orElseThrow(() -> new RuntimeException("Valuta ne postoji"));
         
         currencyRepository.delete(currency);
+        currencyRateHistory.deleteHistory(id);
+        eventPublisher.publishEvent(new CurrencyChangedEvent(id));
     }
     
     /**
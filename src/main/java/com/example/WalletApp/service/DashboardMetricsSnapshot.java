@@ -0,0 +1,214 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.event.TransactionChangedEvent;
+import com.example.WalletApp.event.TransactionsImportedEvent;
+import com.example.WalletApp.event.UserChangedEvent;
+import com.example.WalletApp.event.WalletChangedEvent;
+import com.example.WalletApp.repository.TopTransactionView;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.repository.UserRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * In-memory snapshot of admin dashboard metrics.
+ * Counters and top-N lists are kept current from committed write events; a full reload from
+ * the database runs at most once per staleness bound, which also corrects any drift.
+ */
+@Component
+public class DashboardMetricsSnapshot {
+
+    private static final int TOP_N = 10;
+    private static final long THIRTY_DAYS_MS = 30L * 24 * 60 * 60 * 1000;
+    private static final long TWO_MINUTES_MS = 2L * 60 * 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${wallet.dashboard.max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    private long totalUsers;
+    private long activeUsers;
+    private long activeWallets;
+    private BigDecimal totalSystemBalance = BigDecimal.ZERO;
+    private List<TopEntry> top30Days = new ArrayList<>();
+    private List<TopEntry> top2Minutes = new ArrayList<>();
+    private long refreshedAt;
+    private boolean stale = true;
+
+    /**
+     * Get current metrics, reloading only when the snapshot is older than the staleness bound.
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        long now = System.currentTimeMillis();
+        if (stale || now - refreshedAt > maxStalenessMs) {
+            refresh(now);
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("totalUsers", totalUsers);
+        metrics.put("activeUsers", activeUsers);
+        metrics.put("totalSystemBalance", totalSystemBalance);
+        metrics.put("averageWalletBalance", activeWallets > 0
+                ? totalSystemBalance.divide(BigDecimal.valueOf(activeWallets), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        metrics.put("top10Transactions30Days", toMaps(top30Days, now - THIRTY_DAYS_MS));
+        metrics.put("top10Transactions2Minutes", toMaps(top2Minutes, now - TWO_MINUTES_MS));
+        return metrics;
+    }
+
+    /**
+     * Force a full reload on next read.
+     */
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        totalUsers += event.getUserDelta();
+        activeUsers += event.getActiveUserDelta();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onWalletChanged(WalletChangedEvent event) {
+        activeWallets += event.getActiveWalletDelta();
+        totalSystemBalance = totalSystemBalance.add(event.getActiveBalanceDelta());
+        if (event.isDeleted()) {
+            // Cascaded transaction deletes are not published individually
+            stale = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.getKind() == TransactionChangedEvent.Kind.DELETED) {
+            if (contains(top30Days, event.getTransactionId()) || contains(top2Minutes, event.getTransactionId())) {
+                stale = true;
+            }
+            return;
+        }
+
+        TopEntry entry = new TopEntry(event.getTransactionId(), event.getName(),
+                event.getAmount().setScale(2, RoundingMode.HALF_UP),
+                event.getType().toString(), event.getDateOfTransaction(), event.getUsername());
+        long now = System.currentTimeMillis();
+        offer(top30Days, entry, now - THIRTY_DAYS_MS);
+        offer(top2Minutes, entry, now - TWO_MINUTES_MS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionsImported(TransactionsImportedEvent event) {
+        // Imported rows are not published individually
+        stale = true;
+    }
+
+    /**
+     * Reload all figures from the database.
+     */
+    private void refresh(long now) {
+        totalUsers = userRepository.count();
+        activeUsers = userRepository.countActiveUsers();
+        activeWallets = walletRepository.countActiveWallets();
+
+        BigDecimal total = walletRepository.getTotalSystemBalance();
+        totalSystemBalance = total != null ? total : BigDecimal.ZERO;
+
+        top30Days = loadTop(new Date(now - THIRTY_DAYS_MS));
+        top2Minutes = loadTop(new Date(now - TWO_MINUTES_MS));
+
+        refreshedAt = now;
+        stale = false;
+    }
+
+    private List<TopEntry> loadTop(Date fromDate) {
+        List<TopEntry> entries = new ArrayList<>();
+        for (TopTransactionView t : transactionRepository.findTopTransactionSummariesByDate(fromDate, PageRequest.of(0, TOP_N))) {
+            entries.add(new TopEntry(t.getId(), t.getName(), t.getAmount(), t.getType().toString(),
+                    t.getDateOfTransaction(), t.getUsername()));
+        }
+        return entries;
+    }
+
+    /**
+     * Insert entry into a top-N list sorted by amount descending, if it belongs to the window.
+     */
+    private void offer(List<TopEntry> top, TopEntry entry, long windowStart) {
+        if (entry.date.getTime() < windowStart) {
+            return;
+        }
+        int position = 0;
+        while (position < top.size() && top.get(position).amount.compareTo(entry.amount) >= 0) {
+            position++;
+        }
+        if (position < TOP_N) {
+            top.add(position, entry);
+            if (top.size() > TOP_N) {
+                top.remove(top.size() - 1);
+            }
+        }
+    }
+
+    private boolean contains(List<TopEntry> top, Long transactionId) {
+        for (TopEntry entry : top) {
+            if (entry.id.equals(transactionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Map<String, Object>> toMaps(List<TopEntry> top, long windowStart) {
+        List<Map<String, Object>> result = new ArrayList<>(top.size());
+        for (TopEntry entry : top) {
+            if (entry.date.getTime() < windowStart) {
+                continue;
+            }
+            Map<String, Object> txMap = new HashMap<>();
+            txMap.put("id", entry.id);
+            txMap.put("name", entry.name);
+            txMap.put("amount", entry.amount);
+            txMap.put("type", entry.type);
+            txMap.put("date", entry.date);
+            txMap.put("user", entry.username);
+            result.add(txMap);
+        }
+        return result;
+    }
+
+    /**
+     * Immutable row of a top-N list.
+     */
+    private static final class TopEntry {
+        private final Long id;
+        private final String name;
+        private final BigDecimal amount;
+        private final String type;
+        private final Date date;
+        private final String username;
+
+        private TopEntry(Long id, String name, BigDecimal amount, String type, Date date, String username) {
+            this.id = id;
+            this.name = name;
+            this.amount = amount;
+            this.type = type;
+            this.date = date;
+            this.username = username;
+        }
+    }
+}
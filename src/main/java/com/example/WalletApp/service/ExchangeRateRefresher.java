@@ -0,0 +1,177 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.Currency;
+import com.example.WalletApp.event.CurrencyChangedEvent;
+import com.example.WalletApp.repository.CurrencyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service that refreshes all currency rates in the background: one request to the rate source
+ * for every non-base currency, then one transaction updating all rows.
+ * Request threads never call the source; they read the last fetched rates or queue a refresh.
+ */
+@Service
+public class ExchangeRateRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateRefresher.class);
+
+    private static final String BASE_CURRENCY = "EUR";
+
+    @Autowired
+    private ExchangeRateSource exchangeRateSource;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private CurrencyRateHistory currencyRateHistory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${wallet.rates.refresh-interval-ms:21600000}")
+    private long refreshIntervalMs;
+
+    // Off: no background calls to the rate source (scheduled or queued); explicit refreshes still run
+    @Value("${wallet.rates.enabled:true}")
+    private boolean enabled;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Rates per 1 EUR from the last successful fetch
+    private volatile Map<String, Double> latestRates = Map.of();
+    private volatile long latestFetchedAt;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Scheduled refresh of all currencies.
+     */
+    @Scheduled(initialDelayString = "${wallet.rates.initial-delay-ms:${wallet.rates.refresh-interval-ms:21600000}}",
+               fixedDelayString = "${wallet.rates.refresh-interval-ms:21600000}")
+    public void runScheduledRefresh() {
+        if (enabled) {
+            refreshInBackground();
+        }
+    }
+
+    /**
+     * Fetch and store all rates now, unless a refresh is already running.
+     * Throws when the rate source cannot be reached or answers with something unusable.
+     */
+    public Map<String, Object> refreshRates() {
+        Map<String, Object> result = new HashMap<>();
+        if (!refreshing.compareAndSet(false, true)) {
+            result.put("skipped", true);
+            return result;
+        }
+        try {
+            List<String> codes = new ArrayList<>();
+            for (Currency currency : currencyRepository.findAll()) {
+                if (!BASE_CURRENCY.equals(currency.getName())) {
+                    codes.add(currency.getName());
+                }
+            }
+            if (codes.isEmpty()) {
+                result.put("updated", 0);
+                return result;
+            }
+
+            Map<String, Double> rates = exchangeRateSource.fetchRatesFromEur(codes);
+            latestRates = Map.copyOf(rates);
+            latestFetchedAt = System.currentTimeMillis();
+
+            Integer updated = transactionTemplate.execute(status -> applyRates(rates));
+            List<String> missing = new ArrayList<>(codes);
+            missing.removeAll(rates.keySet());
+            if (!missing.isEmpty()) {
+                log.info("Rate source has no rates for {}", missing);
+            }
+
+            result.put("updated", updated);
+            result.put("missing", missing);
+            return result;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * valueToEur for a currency from the last fetch, if it is not older than one refresh interval.
+     */
+    public Optional<Double> latestValueToEur(String currencyCode) {
+        Double rate = latestRates.get(currencyCode);
+        if (rate == null || rate <= 0 || System.currentTimeMillis() - latestFetchedAt > refreshIntervalMs) {
+            return Optional.empty();
+        }
+        return Optional.of(1.0 / rate);
+    }
+
+    /**
+     * Queue a refresh on the scheduler thread; returns immediately.
+     */
+    public void requestRefresh() {
+        if (enabled && !refreshing.get()) {
+            taskScheduler.schedule(this::refreshInBackground, Instant.now());
+        }
+    }
+
+    private void refreshInBackground() {
+        try {
+            refreshRates();
+        } catch (RuntimeException e) {
+            log.warn("Exchange rate refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Update every currency whose rate changed, and its history for today, in one transaction, and announce it once.
+     */
+    private int applyRates(Map<String, Double> ratesFromEur) {
+        List<Currency> changed = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (Currency currency : currencyRepository.findAll()) {
+            Double rate = ratesFromEur.get(currency.getName());
+            if (rate == null || rate <= 0 || BASE_CURRENCY.equals(currency.getName())) {
+                continue;
+            }
+            Double valueToEur = 1.0 / rate;
+            if (!valueToEur.equals(currency.getValueToEur())) {
+                currency.setValueToEur(valueToEur);
+                currencyRateHistory.record(currency.getId(), today, valueToEur);
+                changed.add(currency);
+            }
+        }
+        if (!changed.isEmpty()) {
+            currencyRepository.saveAll(changed);
+            eventPublisher.publishEvent(new CurrencyChangedEvent(null));
+        }
+        return changed.size();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.WalletApp.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Source of current exchange rates, fetched for many currencies in one call.
+ */
+public interface ExchangeRateSource {
+
+    /**
+     * Units of each requested currency per 1 EUR, keyed by currency code.
+     * Codes the source does not know are left out.
+     */
+    Map<String, Double> fetchRatesFromEur(Collection<String> currencyCodes);
+}
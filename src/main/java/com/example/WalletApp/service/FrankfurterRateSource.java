@@ -0,0 +1,57 @@
+package com.example.WalletApp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exchange rates from the Frankfurter API (https://www.frankfurter.app), all currencies in one request.
+ * One shared RestTemplate with connect/read timeouts; connections are reused through HTTP keep-alive.
+ */
+@Component
+public class FrankfurterRateSource implements ExchangeRateSource {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+
+    public FrankfurterRateSource(RestTemplateBuilder restTemplateBuilder,
+                                 @Value("${wallet.rates.base-url:https://api.frankfurter.app}") String baseUrl,
+                                 @Value("${wallet.rates.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                 @Value("${wallet.rates.read-timeout-ms:5000}") long readTimeoutMs) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Double> fetchRatesFromEur(Collection<String> currencyCodes) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/latest")
+                .queryParam("from", "EUR")
+                .queryParam("to", String.join(",", currencyCodes))
+                .toUriString();
+
+        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+        if (response == null || !(response.get("rates") instanceof Map)) {
+            throw new RuntimeException("Neispravan odgovor servisa za kurseve");
+        }
+
+        Map<String, Double> rates = new HashMap<>();
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) response.get("rates")).entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                rates.put(entry.getKey(), ((Number) entry.getValue()).doubleValue());
+            }
+        }
+        return rates;
+    }
+}
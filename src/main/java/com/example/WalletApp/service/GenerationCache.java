@@ -0,0 +1,96 @@
+package com.example.WalletApp.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache for values computed from the database and evicted by committed-write events.
+ * Every eviction bumps a generation counter; a value loaded across an eviction is returned
+ * but not kept, so a read racing a write cannot put the pre-write value back.
+ */
+public class GenerationCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Unbounded cache.
+     */
+    public GenerationCache() {
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Cache that drops its least recently used entry beyond maxSize entries.
+     */
+    public GenerationCache(int maxSize) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Cached value, or one loaded now and kept unless an eviction happened meanwhile.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation();
+        V value = loader.apply(key);
+        put(key, value, loadedAt);
+        return value;
+    }
+
+    /**
+     * Generation to pass to put when one load fills several keys.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Keep a value loaded at the given generation, unless an eviction has happened since.
+     */
+    public void put(K key, V value, long loadedAt) {
+        if (generation.get() != loadedAt) {
+            return;
+        }
+        entries.put(key, value);
+        // An eviction between the check and the put may have missed this entry
+        if (generation.get() != loadedAt) {
+            entries.remove(key, value);
+        }
+    }
+
+    public void evict(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void evictIf(Predicate<K> condition) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.keySet().removeIf(condition);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.IdempotencyRecord;
+import com.example.WalletApp.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Service for Idempotency-Key handling on write endpoints.
+ * Outcomes live in the idempotency_keys table (written in the same transaction as the write)
+ * with a bounded in-memory LRU in front; both expire after the configured TTL.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String CREATE_TRANSACTION = "POST /transactions";
+    public static final String TRANSFER = "POST /transactions/transfer";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${wallet.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${wallet.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    private Map<String, IdempotencyRecord> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<String, IdempotencyRecord>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Find the stored outcome for a key. Reusing a key for a different endpoint or payload is rejected.
+     */
+    public Optional<IdempotencyRecord> find(Long userId, String key, String endpoint, Object request) {
+        validateKey(key);
+        String cacheKey = cacheKey(userId, key);
+
+        IdempotencyRecord record = cache.get(cacheKey);
+        if (record == null) {
+            record = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key).orElse(null);
+            if (record == null) {
+                return Optional.empty();
+            }
+        }
+
+        if (isExpired(record)) {
+            // Free the key so it can be used again
+            cache.remove(cacheKey);
+            idempotencyRecordRepository.deleteById(record.getId());
+            return Optional.empty();
+        }
+
+        if (!record.getEndpoint().equals(endpoint) || !record.getRequestHash().equals(hash(request))) {
+            throw new RuntimeException("Idempotency ključ je već iskorišćen za drugi zahtev");
+        }
+
+        cache.put(cacheKey, record);
+        return Optional.of(record);
+    }
+
+    /**
+     * Store the outcome of a write as part of its transaction.
+     * A concurrent request with the same key fails on the unique constraint and rolls back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remember(Long userId, String key, String endpoint, Object request, Object response) {
+        validateKey(key);
+        IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(
+                userId, key, endpoint, hash(request), response != null ? toJson(response) : null));
+
+        String cacheKey = cacheKey(userId, key);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(cacheKey, record);
+            }
+        });
+    }
+
+    /**
+     * Remove expired keys.
+     */
+    @Scheduled(fixedDelayString = "${wallet.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteCreatedBefore(new Date(System.currentTimeMillis() - ttlMinutes * 60_000));
+        synchronized (cache) {
+            cache.values().removeIf(this::isExpired);
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getDateCreated().getTime() + ttlMinutes * 60_000 < System.currentTimeMillis();
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Neispravan Idempotency-Key");
+        }
+    }
+
+    private String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Greška pri serijalizaciji odgovora");
+        }
+    }
+}
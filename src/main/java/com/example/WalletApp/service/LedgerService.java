@@ -0,0 +1,292 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.BalanceHistoryDTO;
+import com.example.WalletApp.dto.BalancePointDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.LedgerEntryRepository;
+import com.example.WalletApp.repository.WalletBalanceSnapshotRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Service for the append-only double-entry ledger and per-wallet balance snapshots.
+ * Every balance change is posted as balanced legs in the same transaction as the change;
+ * "balance as of X" is the latest snapshot plus a bounded delta scan.
+ */
+@Service
+public class LedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+
+    // 9999-12-31, upper bound for "all dates"
+    private static final Date END_OF_TIME = new Date(253402214400000L);
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private WalletBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${wallet.ledger.snapshot-grace-minutes:10}")
+    private long snapshotGraceMinutes;
+
+    @Value("${wallet.ledger.snapshot-batch-size:500}")
+    private int snapshotBatchSize;
+
+    @Value("${wallet.ledger.history-max-points:1000}")
+    private int historyMaxPoints;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Post a new transaction: wallet leg plus INCOME/EXPENSE counter leg.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        ledgerEntryRepository.saveAll(legsFor(transaction, LedgerEntryKind.TRANSACTION, false));
+    }
+
+    /**
+     * Post many new transactions (bulk import, recurring runs).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransactions(List<Transaction> transactions) {
+        List<LedgerEntry> legs = new ArrayList<>(transactions.size() * 2);
+        for (Transaction transaction : transactions) {
+            legs.addAll(legsFor(transaction, LedgerEntryKind.TRANSACTION, false));
+        }
+        ledgerEntryRepository.saveAll(legs);
+    }
+
+    /**
+     * Post the mirror image of a deleted transaction; the original legs stay untouched.
+     * Reversal legs keep the original date, so history matches the remaining transactions.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReversal(Transaction transaction) {
+        ledgerEntryRepository.saveAll(legsFor(transaction, LedgerEntryKind.REVERSAL, true));
+    }
+
+    /**
+     * Post a transfer as one posting. Across currencies, FX legs balance each currency.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransfer(Transaction expense, Transaction income) {
+        Long postingId = expense.getId();
+        Long fromCurrency = expense.getWallet().getCurrency().getId();
+        Long toCurrency = income.getWallet().getCurrency().getId();
+
+        List<LedgerEntry> legs = new ArrayList<>(4);
+        legs.add(leg(postingId, LedgerEntryKind.TRANSFER, LedgerAccount.WALLET, expense.getWallet().getId(),
+                fromCurrency, expense.getAmount().negate(), expense));
+        legs.add(leg(postingId, LedgerEntryKind.TRANSFER, LedgerAccount.WALLET, income.getWallet().getId(),
+                toCurrency, income.getAmount(), income));
+
+        if (!fromCurrency.equals(toCurrency) || expense.getAmount().compareTo(income.getAmount()) != 0) {
+            legs.add(leg(postingId, LedgerEntryKind.TRANSFER, LedgerAccount.FX, null,
+                    fromCurrency, expense.getAmount(), expense));
+            legs.add(leg(postingId, LedgerEntryKind.TRANSFER, LedgerAccount.FX, null,
+                    toCurrency, income.getAmount().negate(), income));
+        }
+        ledgerEntryRepository.saveAll(legs);
+    }
+
+    /**
+     * Wallet balance as of a date: latest snapshot plus legs after it.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Long walletId, Date asOf) {
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        return balanceAsOf(walletId, wallet.getInitialBalance(), asOf, new Date());
+    }
+
+    /**
+     * Closing balances from `from` to `to` (inclusive) at the given step.
+     * One snapshot-backed opening balance plus one grouped query of daily deltas;
+     * the series is accumulated here, so the cost does not depend on transaction count.
+     */
+    @Transactional(readOnly = true)
+    public BalanceHistoryDTO getBalanceHistory(Long walletId, Long userId, LocalDate from, LocalDate to,
+                                               BalanceHistoryStep step) {
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        if (!wallet.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Nemate pristup ovom novčaniku");
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Početni datum je posle krajnjeg");
+        }
+
+        List<LocalDate> pointDates = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = step.point(from, pointDates.size())) {
+            pointDates.add(day);
+            if (pointDates.size() > historyMaxPoints) {
+                throw new RuntimeException("Previše tačaka, najviše " + historyMaxPoints);
+            }
+        }
+        if (!pointDates.get(pointDates.size() - 1).equals(to)) {
+            pointDates.add(to);
+        }
+
+        Date now = new Date();
+        Date beforeFrom = endOfDay(from.minusDays(1));
+        BigDecimal balance = balanceAsOf(walletId, wallet.getInitialBalance(), beforeFrom, now);
+
+        TreeMap<LocalDate, BigDecimal> dailyDeltas = new TreeMap<>();
+        for (Object[] row : ledgerEntryRepository.sumByDayBetween(walletId, beforeFrom, endOfDay(to), now)) {
+            LocalDate day = LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue());
+            dailyDeltas.merge(day, (BigDecimal) row[3], BigDecimal::add);
+        }
+
+        List<BalancePointDTO> points = new ArrayList<>(pointDates.size());
+        LocalDate previous = from.minusDays(1);
+        for (LocalDate day : pointDates) {
+            for (BigDecimal delta : dailyDeltas.subMap(previous, false, day, true).values()) {
+                balance = balance.add(delta);
+            }
+            points.add(new BalancePointDTO(day, balance));
+            previous = day;
+        }
+
+        return new BalanceHistoryDTO(walletId, wallet.getCurrency().getName(), step.name(), points);
+    }
+
+    /**
+     * Compare the stored wallet balance with the ledger.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> reconcile(Long walletId) {
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        BigDecimal ledgerBalance = balanceAsOf(walletId, wallet.getInitialBalance(), END_OF_TIME, new Date());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("walletId", walletId);
+        result.put("currentBalance", wallet.getCurrentBalance());
+        result.put("ledgerBalance", ledgerBalance);
+        result.put("difference", wallet.getCurrentBalance().subtract(ledgerBalance));
+        return result;
+    }
+
+    /**
+     * Scheduled entry point: snapshot every wallet as of the start of today.
+     */
+    @Scheduled(cron = "${wallet.ledger.snapshot-cron:0 15 0 * * *}")
+    public void runScheduledSnapshots() {
+        Date startOfToday = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Map<String, Object> result = takeSnapshots(startOfToday);
+        log.info("Wallet balance snapshots: {}", result);
+    }
+
+    /**
+     * Snapshot all wallets as of the given date, in id-ordered batches.
+     * Legs recorded within the grace period are left out (their transactions may still be open)
+     * and are picked up on read as late legs.
+     */
+    public Map<String, Object> takeSnapshots(Date asOf) {
+        Date coveredUntil = new Date(System.currentTimeMillis() - snapshotGraceMinutes * 60_000);
+        long wallets = 0;
+        long created = 0;
+
+        long afterId = 0;
+        while (true) {
+            List<Object[]> batch = walletRepository.findIdsAndInitialBalancesAfter(
+                    afterId, PageRequest.of(0, snapshotBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Integer batchCreated = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Object[] row : batch) {
+                    Long walletId = (Long) row[0];
+                    if (snapshotRepository.existsByWalletIdAndAsOf(walletId, asOf)) {
+                        continue;
+                    }
+                    BigDecimal balance = balanceAsOf(walletId, (BigDecimal) row[1], asOf, coveredUntil);
+                    snapshotRepository.save(new WalletBalanceSnapshot(walletId, asOf, balance, coveredUntil));
+                    count++;
+                }
+                return count;
+            });
+
+            wallets += batch.size();
+            created += batchCreated != null ? batchCreated : 0;
+            afterId = (Long) batch.get(batch.size() - 1)[0];
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("walletsProcessed", wallets);
+        result.put("snapshotsCreated", created);
+        return result;
+    }
+
+    /**
+     * Balance from legs with effectiveDate <= asOf recorded up to recordedUntil.
+     */
+    private BigDecimal balanceAsOf(Long walletId, BigDecimal initialBalance, Date asOf, Date recordedUntil) {
+        List<WalletBalanceSnapshot> snapshots = snapshotRepository.findLatestAtOrBefore(walletId, asOf, PageRequest.of(0, 1));
+        if (snapshots.isEmpty()) {
+            return initialBalance.add(ledgerEntryRepository.sumUpTo(walletId, asOf, recordedUntil));
+        }
+
+        WalletBalanceSnapshot snapshot = snapshots.get(0);
+        return snapshot.getBalance()
+                .add(ledgerEntryRepository.sumBetween(walletId, snapshot.getAsOf(), asOf, recordedUntil))
+                .add(ledgerEntryRepository.sumRecordedLate(walletId, snapshot.getAsOf(),
+                        snapshot.getCoveredUntil(), recordedUntil));
+    }
+
+    private static Date endOfDay(LocalDate day) {
+        return new Date(day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1);
+    }
+
+    private List<LedgerEntry> legsFor(Transaction transaction, LedgerEntryKind kind, boolean reverse) {
+        BigDecimal amount = reverse ? transaction.getSignedAmount().negate() : transaction.getSignedAmount();
+        Long currencyId = transaction.getWallet().getCurrency().getId();
+        LedgerAccount counterAccount = transaction.isIncome() ? LedgerAccount.INCOME : LedgerAccount.EXPENSE;
+
+        return List.of(
+            leg(transaction.getId(), kind, LedgerAccount.WALLET, transaction.getWallet().getId(),
+                    currencyId, amount, transaction),
+            leg(transaction.getId(), kind, counterAccount, null, currencyId, amount.negate(), transaction)
+        );
+    }
+
+    private LedgerEntry leg(Long postingId, LedgerEntryKind kind, LedgerAccount account, Long walletId,
+                            Long currencyId, BigDecimal amount, Transaction transaction) {
+        LedgerEntry entry = new LedgerEntry(kind, account, walletId, currencyId, amount,
+                transaction.getId(), transaction.getDateOfTransaction());
+        entry.setPostingId(postingId);
+        return entry;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.WalletApp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.OptimisticLockException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it a bounded number of times
+ * when a @Version check fails, e.g. a wallet edited while its balance is being posted to.
+ */
+@Component
+public class OptimisticRetry {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${wallet.concurrency.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${wallet.concurrency.backoff-ms:10}")
+    private long backoffMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw new RuntimeException("Novčanik je istovremeno izmenjen, pokušajte ponovo");
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(backoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Operacija je prekinuta");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.Transaction;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.event.TransactionChangedEvent;
+import com.example.WalletApp.event.WalletChangedEvent;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduler for repeating transactions.
+ * Due rules are read in bounded id-ordered batches and partitioned by user id across a worker pool.
+ * Each partition commits its occurrences, grouped wallet balance updates and advanced nextDueDate
+ * together, so a run interrupted at any point is simply resumed by the next run.
+ */
+@Service
+public class RecurringTransactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTransactionService.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${wallet.recurring.batch-size:500}")
+    private int batchSize;
+
+    @Value("${wallet.recurring.workers:4}")
+    private int workers;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private ExecutorService executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(workers);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Scheduled entry point.
+     */
+    @Scheduled(cron = "${wallet.recurring.cron:0 0 * * * *}")
+    public void runScheduled() {
+        Map<String, Object> result = runDue(new Date());
+        log.info("Recurring transactions run: {}", result);
+    }
+
+    /**
+     * Materialize every occurrence due up to now. Overlapping runs are skipped.
+     */
+    public Map<String, Object> runDue(Date now) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Obrada ponavljajućih transakcija je već u toku");
+        }
+
+        long rules = 0;
+        long occurrences = 0;
+        long failedPartitions = 0;
+
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Object[]> batch = transactionRepository.findDueRecurringRules(
+                        now, afterId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                // Partition by user id so one user's rules (and wallets) are handled by one worker
+                List<List<Long>> partitions = new ArrayList<>();
+                for (int i = 0; i < workers; i++) {
+                    partitions.add(new ArrayList<>());
+                }
+                for (Object[] row : batch) {
+                    Long ruleId = (Long) row[0];
+                    Long userId = (Long) row[1];
+                    partitions.get((int) Math.floorMod(userId, (long) workers)).add(ruleId);
+                }
+
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (List<Long> partition : partitions) {
+                    if (!partition.isEmpty()) {
+                        futures.add(executor.submit(() -> processPartition(partition, now)));
+                    }
+                }
+
+                for (Future<Integer> future : futures) {
+                    try {
+                        occurrences += future.get();
+                    } catch (Exception e) {
+                        failedPartitions++;
+                        log.warn("Recurring partition failed, it will be retried on next run", e);
+                    }
+                }
+
+                rules += batch.size();
+                afterId = (Long) batch.get(batch.size() - 1)[0];
+            }
+        } finally {
+            running.set(false);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("rulesProcessed", rules);
+        result.put("occurrencesCreated", occurrences);
+        result.put("failedPartitions", failedPartitions);
+        return result;
+    }
+
+    /**
+     * Process one partition of rules in a single database transaction.
+     */
+    private int processPartition(List<Long> ruleIds, Date now) {
+        Integer created = transactionTemplate.execute(status -> {
+            List<Transaction> rules = transactionRepository.findRecurringRulesByIds(ruleIds);
+            List<Transaction> generated = new ArrayList<>();
+            Map<Long, Wallet> wallets = new HashMap<>();
+            WalletBalanceDeltas walletDeltas = new WalletBalanceDeltas();
+
+            for (Transaction rule : rules) {
+                Date due = rule.getNextDueDate();
+                while (due != null && !due.after(now)) {
+                    Transaction occurrence = new Transaction(rule.getName(), rule.getAmount(), rule.getType(),
+                            rule.getCategory(), rule.getWallet(), rule.getUser());
+                    occurrence.setDateOfTransaction(due);
+                    generated.add(occurrence);
+                    walletDeltas.added(occurrence);
+
+                    due = rule.getFrequency().nextAfter(rule.getDateOfTransaction(), due);
+                }
+                rule.setNextDueDate(due);
+                wallets.put(rule.getWallet().getId(), rule.getWallet());
+            }
+
+            transactionRepository.saveAll(generated);
+            ledgerService.recordTransactions(generated);
+
+            // One grouped balance update per wallet
+            walletDeltas.forEach(walletRepository::addToBalance);
+
+            TransactionRollupService.Deltas rollupDeltas = new TransactionRollupService.Deltas();
+            generated.forEach(rollupDeltas::added);
+            rollupService.apply(rollupDeltas);
+
+            walletDeltas.forEach((walletId, delta) -> {
+                Wallet wallet = wallets.get(walletId);
+                eventPublisher.publishEvent(WalletChangedEvent.balanceChanged(
+                        walletId, wallet.getUser().getId(), wallet.isArchived(), delta));
+            });
+            for (Transaction occurrence : generated) {
+                eventPublisher.publishEvent(TransactionChangedEvent.created(occurrence));
+            }
+
+            return generated.size();
+        });
+        return created != null ? created : 0;
+    }
+}
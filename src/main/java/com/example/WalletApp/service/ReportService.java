@@ -0,0 +1,241 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.TransactionType;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.event.*;
+import com.example.WalletApp.repository.TransactionDailyRollupRepository;
+import com.example.WalletApp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Service for income/expense reports. Reads transaction_daily_rollups only, so the cost
+ * depends on the number of days and categories in the period, not on transaction count.
+ * Monthly reports are cached per (user, month) until a committed write touches that month.
+ */
+@Service
+public class ReportService {
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrencyRateHistory currencyRateHistory;
+
+    @Value("${wallet.reports.cache-size:10000}")
+    private int cacheSize;
+
+    private GenerationCache<MonthKey, Map<String, Object>> monthlyCache;
+
+    @PostConstruct
+    public void init() {
+        monthlyCache = new GenerationCache<>(cacheSize);
+    }
+
+    /**
+     * Income, expense, net and per-category breakdown for one month, in the user's currency.
+     * One grouped query returns daily sums per wallet currency; each day is converted at that day's
+     * rates, resolved for all currencies involved up front.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getMonthlyReport(Long userId, YearMonth month) {
+        return monthlyCache.getOrLoad(new MonthKey(userId, month), key -> buildMonthlyReport(userId, month));
+    }
+
+    /**
+     * Income, expense, net and expenses per category for days in [from, to].
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSummary(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Početni datum je posle krajnjeg");
+        }
+        Date fromDay = toDate(from);
+        Date toDay = toDate(to);
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        long incomeCount = 0;
+        long expenseCount = 0;
+        for (Object[] row : rollupRepository.sumByType(userId, fromDay, toDay)) {
+            if (row[0] == TransactionType.INCOME) {
+                income = (BigDecimal) row[1];
+                incomeCount = ((Number) row[2]).longValue();
+            } else {
+                expense = (BigDecimal) row[1];
+                expenseCount = ((Number) row[2]).longValue();
+            }
+        }
+
+        List<Map<String, Object>> expensesByCategory = new ArrayList<>();
+        for (Object[] row : rollupRepository.sumByCategory(userId, TransactionType.EXPENSE, fromDay, toDay)) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("categoryId", row[0]);
+            category.put("categoryName", row[1]);
+            category.put("total", row[2]);
+            category.put("count", ((Number) row[3]).longValue());
+            expensesByCategory.add(category);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("from", from);
+        summary.put("to", to);
+        summary.put("income", income);
+        summary.put("expense", expense);
+        summary.put("net", income.subtract(expense));
+        summary.put("incomeCount", incomeCount);
+        summary.put("expenseCount", expenseCount);
+        summary.put("expensesByCategory", expensesByCategory);
+        return summary;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        evict(event.getUserId(), monthOf(event.getDateOfTransaction()), monthOf(event.getDateOfTransaction()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        if (event.getMinDate() != null) {
+            evict(event.getUserId(), monthOf(event.getMinDate()), monthOf(event.getMaxDate()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWalletChanged(WalletChangedEvent event) {
+        // Cascaded transaction deletes are not published individually
+        if (event.isDeleted()) {
+            evictUser(event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictUser(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        monthlyCache.clear();
+    }
+
+    private Map<String, Object> buildMonthlyReport(Long userId, YearMonth month) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Korisnik ne postoji"));
+        // Users without a currency get EUR figures
+        Long targetCurrencyId = user.getCurrency() != null ? user.getCurrency().getId() : null;
+        String currencyName = user.getCurrency() != null ? user.getCurrency().getName() : "EUR";
+
+        List<Object[]> rows = rollupRepository.sumByCategoryCurrencyAndDay(userId, toDate(month.atDay(1)),
+                toDate(month.atEndOfMonth()));
+        Set<Long> currencyIds = new HashSet<>();
+        for (Object[] row : rows) {
+            currencyIds.add((Long) row[2]);
+        }
+        if (targetCurrencyId != null) {
+            currencyIds.add(targetCurrencyId);
+        }
+        CurrencyRateHistory.RateTable rates = currencyRateHistory.resolve(currencyIds);
+
+        Map<Long, CategoryTotals> totalsByCategory = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            LocalDate day = toLocalDate((Date) row[3]);
+            BigDecimal rate = rates.valueToEur((Long) row[2], day);
+            if (targetCurrencyId != null) {
+                rate = rate.divide(rates.valueToEur(targetCurrencyId, day), CurrencyRateCache.RATE_CONTEXT);
+            }
+            CategoryTotals totals = totalsByCategory.computeIfAbsent((Long) row[0],
+                    id -> new CategoryTotals((String) row[1]));
+            totals.income = totals.income.add(convert(row[4], rate));
+            totals.expense = totals.expense.add(convert(row[5], rate));
+            totals.count += ((Number) row[6]).longValue();
+        }
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        List<Map<String, Object>> categories = new ArrayList<>();
+        for (Map.Entry<Long, CategoryTotals> entry : totalsByCategory.entrySet()) {
+            BigDecimal categoryIncome = entry.getValue().income.setScale(2, RoundingMode.HALF_UP);
+            BigDecimal categoryExpense = entry.getValue().expense.setScale(2, RoundingMode.HALF_UP);
+            income = income.add(categoryIncome);
+            expense = expense.add(categoryExpense);
+
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("categoryId", entry.getKey());
+            category.put("categoryName", entry.getValue().name);
+            category.put("income", categoryIncome);
+            category.put("expense", categoryExpense);
+            category.put("count", entry.getValue().count);
+            categories.add(category);
+        }
+        categories.sort(Comparator.comparing((Map<String, Object> c) -> (BigDecimal) c.get("expense")).reversed()
+                .thenComparing(c -> (BigDecimal) c.get("income"), Comparator.reverseOrder()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("month", month.toString());
+        report.put("currency", currencyName);
+        report.put("income", income);
+        report.put("expense", expense);
+        report.put("net", income.subtract(expense));
+        report.put("categories", Collections.unmodifiableList(categories));
+        return Collections.unmodifiableMap(report);
+    }
+
+    private void evict(Long userId, YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            monthlyCache.evict(new MonthKey(userId, month));
+        }
+    }
+
+    private void evictUser(Long userId) {
+        monthlyCache.evictIf(key -> key.userId().equals(userId));
+    }
+
+    private static YearMonth monthOf(Date date) {
+        return YearMonth.from(date.toInstant().atZone(ZoneId.systemDefault()));
+    }
+
+    private static BigDecimal convert(Object amount, BigDecimal rate) {
+        if (amount == null) {
+            return BigDecimal.ZERO;
+        }
+        return new BigDecimal(amount.toString()).multiply(rate, CurrencyRateCache.RATE_CONTEXT);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private record MonthKey(Long userId, YearMonth month) {}
+
+    private static final class CategoryTotals {
+
+        private final String name;
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private long count;
+
+        private CategoryTotals(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.entity.Currency;
+import com.example.WalletApp.event.TransactionsImportedEvent;
+import com.example.WalletApp.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service that fills the database with synthetic users for load and scale tests: wallets in mixed
+ * currencies, monthly salaries, category-weighted expenses over the given years, savings goals and
+ * recurring rules. Output depends only on the spec (seed and end date included).
+ * Users are generated in parallel, each in one database transaction. Transactions and their ledger
+ * legs go out as plain JDBC batches and rollups are summed in memory, with ledger legs, rollups and
+ * wallet balances kept consistent.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    // Expense categories from data.sql: id, relative frequency, median amount in EUR
+    private static final long[] EXPENSE_CATEGORIES = {6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+    private static final int[] EXPENSE_WEIGHTS = {35, 12, 8, 18, 4, 5, 2, 2, 1, 8, 5};
+    private static final double[] EXPENSE_MEDIANS = {25, 30, 40, 15, 50, 60, 100, 300, 450, 80, 20};
+
+    // Other income: Bonus, Investicije, Pokloni, Ostali prihodi
+    private static final long[] EXTRA_INCOME_CATEGORIES = {2, 3, 4, 5};
+    private static final double EXTRA_INCOME_MEDIAN = 200;
+    private static final double EXTRA_INCOME_SHARE = 0.08;
+
+    private static final long SALARY_CATEGORY = 1;
+    private static final long RENT_CATEGORY = 14;
+    private static final long BILLS_CATEGORY = 15;
+
+    // User currency shares, by currency id (RSD, EUR, USD, GBP, CHF)
+    private static final long[] USER_CURRENCIES = {1, 2, 3, 4, 5};
+    private static final int[] USER_CURRENCY_WEIGHTS = {50, 30, 10, 5, 5};
+
+    // Ids from the entities' pooled sequences, so later Hibernate inserts never collide
+    private static final String NEXT_TRANSACTION_IDS = "SELECT NEXT VALUE FOR transactions_seq FROM SYSTEM_RANGE(1, ?)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, name, amount, type, category_id, " +
+            "date_of_transaction, repeating, frequency, next_due_date, wallet_id, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LEDGER_LEG = "INSERT INTO ledger_entries (id, posting_id, kind, account, " +
+            "wallet_id, currency_id, amount, transaction_id, effective_date, recorded_at) " +
+            "VALUES (NEXT VALUE FOR ledger_entries_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${wallet.generator.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${wallet.generator.workers:4}")
+    private int workers;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * What to generate. Usernames are usernamePrefix + index, so runs with different prefixes can share a database.
+     */
+    public record Spec(int users, int walletsPerUser, int years, int transactionsPerUser, long seed,
+                       LocalDate endDate, String usernamePrefix) {}
+
+    /**
+     * Generate all users of the spec; returns counts and elapsed time.
+     */
+    public Map<String, Object> generate(Spec spec) {
+        if (spec.users() < 1 || spec.walletsPerUser() < 1 || spec.years() < 1 || spec.transactionsPerUser() < 0) {
+            throw new RuntimeException("Neispravni parametri generatora");
+        }
+        if (userRepository.existsByUsername(spec.usernamePrefix() + 0)) {
+            throw new RuntimeException("Podaci sa prefiksom " + spec.usernamePrefix() + " su već generisani");
+        }
+
+        long started = System.currentTimeMillis();
+        String password = passwordEncoder.encode("password");
+        Map<Long, Currency> currencies = new HashMap<>();
+        for (Currency currency : currencyRepository.findAll()) {
+            currencies.put(currency.getId(), currency);
+        }
+        Map<Long, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getId(), category);
+        }
+
+        long transactions = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(spec.users());
+            for (int index = 0; index < spec.users(); index++) {
+                int userIndex = index;
+                futures.add(executor.submit(() -> transactionTemplate.execute(status ->
+                        generateUser(spec, userIndex, password, currencies, categories))));
+            }
+            for (Future<Long> future : futures) {
+                transactions += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Generisanje podataka je prekinuto", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Generisanje podataka nije uspelo", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", spec.users());
+        result.put("wallets", (long) spec.users() * spec.walletsPerUser());
+        result.put("transactions", transactions);
+        result.put("elapsedMs", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private long generateUser(Spec spec, int index, String password, Map<Long, Currency> currencies,
+                              Map<Long, Category> categories) {
+        // Per-user stream: the same user comes out identical whatever else is generated
+        Random random = new Random(spec.seed() * 1_000_003L + index);
+        ZoneId zone = ZoneId.systemDefault();
+        long end = spec.endDate().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+        long start = spec.endDate().minusYears(spec.years()).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        Currency userCurrency = currencies.get(weighted(random, USER_CURRENCIES, USER_CURRENCY_WEIGHTS));
+        String username = spec.usernamePrefix() + index;
+        User user = new User("Korisnik", String.valueOf(index), username, username + "@example.com", password,
+                new Date(start - 25L * 365 * 86_400_000 - (long) (random.nextDouble() * 30L * 365 * 86_400_000)),
+                Role.USER, userCurrency);
+        user.setDateOfRegistration(new Date(start));
+        user = userRepository.save(user);
+
+        List<Wallet> wallets = new ArrayList<>(spec.walletsPerUser());
+        for (int i = 0; i < spec.walletsPerUser(); i++) {
+            Currency currency = i == 0 ? userCurrency : currencies.get(USER_CURRENCIES[random.nextInt(USER_CURRENCIES.length)]);
+            Wallet wallet = new Wallet(i == 0 ? "Tekući račun" : "Novčanik " + i,
+                    amount(random, 2000, 1.0, currency), user, currency);
+            wallet.setDateOfCreation(new Date(start));
+            wallet.setSavings(i > 0 && i == spec.walletsPerUser() - 1);
+            wallets.add(wallet);
+        }
+        wallets = walletRepository.saveAll(wallets);
+
+        Wallet main = wallets.get(0);
+        Wallet savings = wallets.get(wallets.size() - 1);
+        if (savings.isSavings()) {
+            SavingsGoal goal = new SavingsGoal("Cilj " + index, amount(random, 5000, 0.8, savings.getCurrency()),
+                    new Date(end + (long) (random.nextDouble() * 2 * 365 * 86_400_000L)), savings, user);
+            goal.setCurrentAmount(goal.getTargetAmount().multiply(BigDecimal.valueOf(random.nextDouble()))
+                    .setScale(2, RoundingMode.HALF_UP));
+            savingsGoalRepository.save(goal);
+        }
+        // The JDBC inserts below reference the user and wallets
+        entityManager.flush();
+
+        Batch batch = new Batch(user.getId());
+        BigDecimal salary = amount(random, 1500, 0.5, main.getCurrency());
+        int months = spec.years() * 12;
+        // Recurring rules count towards transactionsPerUser
+        int recurring = Math.min(spec.transactionsPerUser(), random.nextBoolean() ? 2 : 1);
+        int salaries = Math.min(months, spec.transactionsPerUser() - recurring);
+        for (int month = salaries - 1; month >= 0; month--) {
+            LocalDate payday = spec.endDate().minusMonths(month).withDayOfMonth(1 + random.nextInt(5));
+            long time = Math.min(end, payday.atTime(9, 0).atZone(zone).toInstant().toEpochMilli());
+            batch.add(transaction("Plata", salary, TransactionType.INCOME, categories.get(SALARY_CATEGORY),
+                    main, user, time));
+        }
+
+        for (int i = salaries + recurring; i < spec.transactionsPerUser(); i++) {
+            Wallet wallet = wallets.get(random.nextInt(wallets.size()));
+            long time = start + (long) (random.nextDouble() * (end - start));
+            if (random.nextDouble() < EXTRA_INCOME_SHARE) {
+                Category category = categories.get(EXTRA_INCOME_CATEGORIES[random.nextInt(EXTRA_INCOME_CATEGORIES.length)]);
+                batch.add(transaction(category.getName(), amount(random, EXTRA_INCOME_MEDIAN, 1.0, wallet.getCurrency()),
+                        TransactionType.INCOME, category, wallet, user, time));
+            } else {
+                int pick = weightedIndex(random, EXPENSE_WEIGHTS);
+                Category category = categories.get(EXPENSE_CATEGORIES[pick]);
+                batch.add(transaction(category.getName(), amount(random, EXPENSE_MEDIANS[pick], 0.7, wallet.getCurrency()),
+                        TransactionType.EXPENSE, category, wallet, user, time));
+            }
+            if (batch.pending.size() >= chunkSize) {
+                batch.flushChunk();
+            }
+        }
+
+        // Recurring rules: last occurrence within a month of the end date, next one due after it
+        if (recurring > 0) {
+            addRecurring(batch, random, "Kirija", categories.get(RENT_CATEGORY), main, user, end, Frequency.MONTHLY,
+                    amount(random, 450, 0.4, main.getCurrency()));
+        }
+        if (recurring > 1) {
+            addRecurring(batch, random, "Računi", categories.get(BILLS_CATEGORY), main, user, end, Frequency.MONTHLY,
+                    amount(random, 80, 0.4, main.getCurrency()));
+        }
+        batch.flushChunk();
+        batch.finish();
+        return batch.count;
+    }
+
+    private void addRecurring(Batch batch, Random random, String name, Category category, Wallet wallet, User user,
+                              long end, Frequency frequency, BigDecimal amount) {
+        Transaction transaction = transaction(name, amount, TransactionType.EXPENSE, category, wallet, user,
+                end - (long) (random.nextDouble() * 27 * 86_400_000L));
+        transaction.setRepeating(true);
+        transaction.setFrequency(frequency);
+        transaction.setNextDueDate(frequency.nextAfter(transaction.getDateOfTransaction(), transaction.getDateOfTransaction()));
+        batch.add(transaction);
+    }
+
+    private static Transaction transaction(String name, BigDecimal amount, TransactionType type, Category category,
+                                           Wallet wallet, User user, long time) {
+        Transaction transaction = new Transaction(name, amount, type, category, wallet, user);
+        transaction.setDateOfTransaction(new Date(time));
+        return transaction;
+    }
+
+    /**
+     * Log-normal amount around a median given in EUR, in the wallet's currency.
+     */
+    private static BigDecimal amount(Random random, double medianEur, double sigma, Currency currency) {
+        double eur = medianEur * Math.exp(sigma * random.nextGaussian());
+        return BigDecimal.valueOf(Math.max(0.01, eur / currency.getValueToEur())).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long weighted(Random random, long[] values, int[] weights) {
+        return values[weightedIndex(random, weights)];
+    }
+
+    private static int weightedIndex(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Per-user state: pending chunk, balance and rollup deltas.
+     */
+    private class Batch {
+        private final Long userId;
+        private final WalletBalanceDeltas walletDeltas = new WalletBalanceDeltas();
+        private final TransactionRollupService.Deltas rollupDeltas = new TransactionRollupService.Deltas();
+        private final List<Transaction> pending = new ArrayList<>();
+        private long count;
+        private Date minDate;
+        private Date maxDate;
+
+        private Batch(Long userId) {
+            this.userId = userId;
+        }
+
+        private void add(Transaction transaction) {
+            pending.add(transaction);
+            walletDeltas.added(transaction);
+            rollupDeltas.added(transaction);
+
+            Date date = transaction.getDateOfTransaction();
+            if (minDate == null || date.before(minDate)) {
+                minDate = date;
+            }
+            if (maxDate == null || date.after(maxDate)) {
+                maxDate = date;
+            }
+        }
+
+        /**
+         * Insert pending rows and their ledger legs (as LedgerService posts them) as JDBC batches.
+         */
+        private void flushChunk() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_TRANSACTION_IDS, Long.class, pending.size());
+            Timestamp recordedAt = new Timestamp(System.currentTimeMillis());
+            List<Object[]> rows = new ArrayList<>(pending.size());
+            List<Object[]> legs = new ArrayList<>(pending.size() * 2);
+            for (int i = 0; i < pending.size(); i++) {
+                Transaction transaction = pending.get(i);
+                Long id = ids.get(i);
+                Timestamp date = new Timestamp(transaction.getDateOfTransaction().getTime());
+                rows.add(new Object[] {id, transaction.getName(), transaction.getAmount(), transaction.getType().name(),
+                        transaction.getCategory().getId(), date, transaction.isRepeating(),
+                        transaction.getFrequency() != null ? transaction.getFrequency().name() : null,
+                        transaction.getNextDueDate() != null ? new Timestamp(transaction.getNextDueDate().getTime()) : null,
+                        transaction.getWallet().getId(), userId});
+
+                BigDecimal amount = transaction.getSignedAmount();
+                Long currencyId = transaction.getWallet().getCurrency().getId();
+                LedgerAccount counterAccount = transaction.isIncome() ? LedgerAccount.INCOME : LedgerAccount.EXPENSE;
+                legs.add(new Object[] {id, LedgerEntryKind.TRANSACTION.name(), LedgerAccount.WALLET.name(),
+                        transaction.getWallet().getId(), currencyId, amount, id, date, recordedAt});
+                legs.add(new Object[] {id, LedgerEntryKind.TRANSACTION.name(), counterAccount.name(),
+                        null, currencyId, amount.negate(), id, date, recordedAt});
+            }
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+            jdbcTemplate.batchUpdate(INSERT_LEDGER_LEG, legs);
+            count += pending.size();
+            pending.clear();
+        }
+
+        private void finish() {
+            walletDeltas.forEach((walletId, delta) -> {
+                Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+                BigDecimal closing = wallet.getInitialBalance().add(delta);
+                if (closing.signum() < 0) {
+                    // Side wallets only spend; open them high enough to end at their drawn starting amount
+                    BigDecimal opening = wallet.getInitialBalance().subtract(closing).add(wallet.getInitialBalance());
+                    wallet.setInitialBalance(opening);
+                    wallet.setCurrentBalance(opening);
+                    walletRepository.saveAndFlush(wallet);
+                }
+                walletRepository.addToBalance(walletId, delta);
+            });
+            // The user is new, so none of its rollup rows exist yet
+            rollupService.insertNew(rollupDeltas);
+            if (count > 0) {
+                eventPublisher.publishEvent(new TransactionsImportedEvent(userId, walletDeltas.walletIds(),
+                        (int) count, minDate, maxDate));
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.WalletApp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in the (dateOfTransaction DESC, id DESC) ordering.
+ * Encoded as an opaque URL-safe token so clients never depend on its layout.
+ */
+public final class TransactionCursor {
+
+    private final Date dateOfTransaction;
+    private final Long id;
+
+    public TransactionCursor(Date dateOfTransaction, Long id) {
+        this.dateOfTransaction = dateOfTransaction;
+        this.id = id;
+    }
+
+    public Date getDateOfTransaction() { return dateOfTransaction; }
+
+    public Long getId() { return id; }
+
+    /**
+     * Encode cursor as opaque token.
+     */
+    public String encode() {
+        String raw = dateOfTransaction.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode token produced by encode().
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long millis = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new TransactionCursor(new Date(millis), id);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Neispravan kursor stranice");
+        }
+    }
+}
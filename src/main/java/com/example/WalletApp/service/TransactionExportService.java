@@ -0,0 +1,143 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service for streaming transaction export as CSV or NDJSON.
+ * Rows come from a forward-only cursor as DTO projections, which never enter the persistence
+ * context, so heap use does not depend on the number of exported rows.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,name,amount,type,categoryId,categoryName,walletId,walletName,"
+            + "dateOfTransaction,userId,userName,repeating,frequency";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * File download of an export; the body writes the rows after the controller has returned.
+     */
+    public ResponseEntity<StreamingResponseBody> download(TransactionFileFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Error response for the download endpoints, with the usual {"error": ...} JSON body.
+     * They are declared as streaming responses, so the error body is streamed as well.
+     */
+    public ResponseEntity<StreamingResponseBody> downloadError(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> objectMapper.writeValue(output, Map.of("error", String.valueOf(message))));
+    }
+
+    /**
+     * Write all transactions of a user.
+     */
+    @Transactional(readOnly = true)
+    public void exportUserTransactions(Long userId, TransactionFileFormat format, OutputStream output) throws IOException {
+        try (Stream<TransactionDTO> rows = transactionRepository.streamByUserId(userId)) {
+            write(rows, format, output);
+        }
+    }
+
+    /**
+     * Write all transactions in the system (admin only).
+     */
+    @Transactional(readOnly = true)
+    public void exportAllTransactions(TransactionFileFormat format, OutputStream output) throws IOException {
+        try (Stream<TransactionDTO> rows = transactionRepository.streamAll()) {
+            write(rows, format, output);
+        }
+    }
+
+    private void write(Stream<TransactionDTO> rows, TransactionFileFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+
+        if (format == TransactionFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        Iterator<TransactionDTO> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            TransactionDTO dto = iterator.next();
+
+            if (format == TransactionFileFormat.CSV) {
+                writeCsvRow(writer, dto, dateFormat);
+            } else {
+                writer.write(objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, TransactionDTO dto, SimpleDateFormat dateFormat) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(csv(dto.getName()));
+        writer.write(',');
+        writer.write(dto.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(dto.getType());
+        writer.write(',');
+        writer.write(String.valueOf(dto.getCategoryId()));
+        writer.write(',');
+        writer.write(csv(dto.getCategoryName()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getWalletId()));
+        writer.write(',');
+        writer.write(csv(dto.getWalletName()));
+        writer.write(',');
+        writer.write(dateFormat.format(dto.getDateOfTransaction()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getUserId()));
+        writer.write(',');
+        writer.write(csv(dto.getUserName()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.isRepeating()));
+        writer.write(',');
+        writer.write(dto.getFrequency() != null ? dto.getFrequency() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV field when it contains separators, quotes or line breaks.
+     */
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
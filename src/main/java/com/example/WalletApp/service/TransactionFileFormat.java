@@ -0,0 +1,31 @@
+package com.example.WalletApp.service;
+
+/**
+ * Line-oriented file formats for transaction import and export.
+ */
+public enum TransactionFileFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    TransactionFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() { return contentType; }
+
+    public String getExtension() { return extension; }
+
+    /**
+     * Resolve from explicit format parameter, falling back to a content type.
+     */
+    public static TransactionFileFormat resolve(String format, String contentType) {
+        if (format != null && !format.isEmpty()) {
+            return "csv".equalsIgnoreCase(format) ? CSV : NDJSON;
+        }
+        return contentType != null && contentType.toLowerCase().contains("csv") ? CSV : NDJSON;
+    }
+}
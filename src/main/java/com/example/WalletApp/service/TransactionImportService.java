@@ -0,0 +1,313 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.ImportResultDTO;
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.event.TransactionsImportedEvent;
+import com.example.WalletApp.event.WalletChangedEvent;
+import com.example.WalletApp.repository.CategoryRepository;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.repository.UserRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Service for bulk transaction import from CSV or NDJSON streams.
+ * Input is parsed line by line, inserted in JDBC batches with the persistence context cleared
+ * between chunks, and wallet balances get one aggregated update per wallet before commit.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${wallet.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Import all rows from the stream for the given user.
+     * Invalid rows are skipped and reported; valid rows are committed together.
+     */
+    @Transactional
+    public ImportResultDTO importTransactions(InputStream input, TransactionFileFormat format, Long userId) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Korisnik ne postoji"));
+        ImportContext context = new ImportContext(user);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String[] header = null;
+        String line;
+        long lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (format == TransactionFileFormat.CSV && header == null) {
+                header = parseCsvLine(line);
+                continue;
+            }
+
+            try {
+                TransactionDTO row = format == TransactionFileFormat.CSV ? csvRow(header, line) : objectMapper.readValue(line, TransactionDTO.class);
+                context.add(toTransaction(row, context));
+            } catch (Exception e) {
+                context.fail(lineNumber, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+
+            if (context.pending.size() >= chunkSize) {
+                context.flushChunk();
+            }
+        }
+        context.flushChunk();
+
+        // One aggregated balance update per wallet
+        context.walletDeltas.forEach((walletId, delta) -> {
+            walletRepository.addToBalance(walletId, delta);
+            eventPublisher.publishEvent(WalletChangedEvent.balanceChanged(
+                    walletId, userId, context.wallets.get(walletId).isArchived(), delta));
+        });
+        rollupService.apply(context.rollupDeltas);
+
+        if (context.result.getImported() > 0) {
+            eventPublisher.publishEvent(new TransactionsImportedEvent(userId, context.walletDeltas.walletIds(),
+                    context.result.getImported(), context.minDate, context.maxDate));
+        }
+
+        return context.result;
+    }
+
+    /**
+     * Validate one row against the per-import caches and build the entity.
+     */
+    private Transaction toTransaction(TransactionDTO row, ImportContext context) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            throw new RuntimeException("Naziv transakcije je obavezan");
+        }
+        if (row.getAmount() == null) {
+            throw new RuntimeException("Iznos je obavezan");
+        }
+        if (row.getType() == null) {
+            throw new RuntimeException("Tip transakcije je obavezan");
+        }
+
+        TransactionType type;
+        try {
+            type = TransactionType.valueOf(row.getType().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Nepoznat tip transakcije: " + row.getType());
+        }
+
+        Wallet wallet = row.getWalletId() != null ? context.wallets.get(row.getWalletId()) : null;
+        if (wallet == null) {
+            throw new RuntimeException("Novčanik ne postoji ili mu nemate pristup");
+        }
+
+        Category category = null;
+        if (row.getCategoryId() != null) {
+            category = context.categoriesById.get(row.getCategoryId());
+        } else if (row.getCategoryName() != null) {
+            category = context.categoriesByName.get(row.getCategoryName().trim().toLowerCase());
+        }
+        if (category == null) {
+            throw new RuntimeException("Kategorija ne postoji");
+        }
+
+        Transaction transaction = new Transaction(row.getName(), row.getAmount(), type, category, wallet, context.user);
+        if (row.getDateOfTransaction() != null) {
+            transaction.setDateOfTransaction(row.getDateOfTransaction());
+        }
+        return transaction;
+    }
+
+    /**
+     * Map a CSV line onto TransactionDTO using header column names.
+     * Supported columns: name, amount, type, categoryId, categoryName, walletId, dateOfTransaction.
+     */
+    private TransactionDTO csvRow(String[] header, String line) throws ParseException {
+        String[] values = parseCsvLine(line);
+        TransactionDTO row = new TransactionDTO();
+
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header[i].trim()) {
+                case "name":
+                    row.setName(value);
+                    break;
+                case "amount":
+                    row.setAmount(new BigDecimal(value));
+                    break;
+                case "type":
+                    row.setType(value);
+                    break;
+                case "categoryId":
+                    row.setCategoryId(Long.valueOf(value));
+                    break;
+                case "categoryName":
+                    row.setCategoryName(value);
+                    break;
+                case "walletId":
+                    row.setWalletId(Long.valueOf(value));
+                    break;
+                case "dateOfTransaction":
+                    row.setDateOfTransaction(parseDate(value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return row;
+    }
+
+    private Date parseDate(String value) throws ParseException {
+        String pattern = value.length() > 10 ? "yyyy-MM-dd'T'HH:mm:ss" : "yyyy-MM-dd";
+        return new SimpleDateFormat(pattern).parse(value);
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes.
+     */
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Per-import state: lookup caches, pending chunk, balance deltas and result.
+     */
+    private class ImportContext {
+        private final User user;
+        private final Map<Long, Wallet> wallets = new HashMap<>();
+        private final Map<Long, Category> categoriesById = new HashMap<>();
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+        private final WalletBalanceDeltas walletDeltas = new WalletBalanceDeltas();
+        private final TransactionRollupService.Deltas rollupDeltas = new TransactionRollupService.Deltas();
+        private final List<Transaction> pending = new ArrayList<>();
+        private final ImportResultDTO result = new ImportResultDTO();
+        private Date minDate;
+        private Date maxDate;
+
+        private ImportContext(User user) {
+            this.user = user;
+            for (Wallet wallet : walletRepository.findByUserId(user.getId())) {
+                wallets.put(wallet.getId(), wallet);
+            }
+            for (Category category : categoryRepository.findAvailableCategoriesForUser(user.getId())) {
+                categoriesById.put(category.getId(), category);
+                categoriesByName.putIfAbsent(category.getName().toLowerCase(), category);
+            }
+        }
+
+        private void add(Transaction transaction) {
+            pending.add(transaction);
+            walletDeltas.added(transaction);
+            rollupDeltas.added(transaction);
+
+            Date date = transaction.getDateOfTransaction();
+            if (minDate == null || date.before(minDate)) {
+                minDate = date;
+            }
+            if (maxDate == null || date.after(maxDate)) {
+                maxDate = date;
+            }
+        }
+
+        private void fail(long lineNumber, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new ImportResultDTO.RowError(lineNumber, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+
+        /**
+         * Insert pending rows as JDBC batches and detach them to keep memory flat.
+         * Cached wallets/categories become detached too, which is fine for foreign key references.
+         */
+        private void flushChunk() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            transactionRepository.saveAll(pending);
+            ledgerService.recordTransactions(pending);
+            entityManager.flush();
+            entityManager.clear();
+            result.setImported(result.getImported() + pending.size());
+            pending.clear();
+        }
+    }
+}
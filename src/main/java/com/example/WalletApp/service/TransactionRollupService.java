@@ -0,0 +1,240 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.Transaction;
+import com.example.WalletApp.entity.TransactionDailyRollup;
+import com.example.WalletApp.entity.TransactionType;
+import com.example.WalletApp.repository.TransactionDailyRollupRepository;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Service that keeps transaction_daily_rollups in step with the transactions table.
+ * Deltas are applied in the writing transaction, after its wallet balance update: that row lock
+ * serializes writers per wallet, so update-or-insert on a rollup row cannot race.
+ */
+@Service
+public class TransactionRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::walletId)
+            .thenComparing(RollupKey::day)
+            .thenComparing(RollupKey::categoryId)
+            .thenComparing(RollupKey::type)
+            .thenComparing(RollupKey::userId);
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${wallet.rollups.rebuild-batch-size:100}")
+    private int rebuildBatchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rollup changes collected while transactions are written, applied later in one pass.
+     */
+    public static class Deltas {
+
+        private final Map<RollupKey, RollupDelta> changes = new TreeMap<>(KEY_ORDER);
+
+        public void added(Transaction transaction) {
+            merge(transaction, transaction.getAmount(), 1);
+        }
+
+        public void removed(Transaction transaction) {
+            merge(transaction, transaction.getAmount().negate(), -1);
+        }
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        private void merge(Transaction transaction, BigDecimal amount, long count) {
+            RollupKey key = new RollupKey(transaction.getUser().getId(), transaction.getCategory().getId(),
+                    transaction.getWallet().getId(), startOfDay(transaction.getDateOfTransaction()), transaction.getType());
+            RollupDelta delta = changes.computeIfAbsent(key, k -> new RollupDelta());
+            delta.amount = delta.amount.add(amount);
+            delta.count += count;
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        Deltas deltas = new Deltas();
+        deltas.added(transaction);
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        Deltas deltas = new Deltas();
+        deltas.removed(transaction);
+        apply(deltas);
+    }
+
+    /**
+     * Apply collected deltas; the caller must already have updated the affected wallets' balances.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Deltas deltas) {
+        Set<Long> shrunkWallets = new TreeSet<>();
+        // Inserted after all increments: each increment auto-flushes, and dirty-checking a growing
+        // list of pending rows made large imports quadratic. Keys are unique, so nothing is missed.
+        List<TransactionDailyRollup> created = new ArrayList<>();
+        for (Map.Entry<RollupKey, RollupDelta> entry : deltas.changes.entrySet()) {
+            RollupKey key = entry.getKey();
+            RollupDelta delta = entry.getValue();
+            if (delta.count == 0 && delta.amount.signum() == 0) {
+                continue;
+            }
+
+            int updated = rollupRepository.increment(key.userId(), key.categoryId(), key.walletId(), key.day(),
+                    key.type(), delta.amount, delta.count);
+            if (updated == 0) {
+                if (delta.count > 0) {
+                    created.add(new TransactionDailyRollup(key.userId(), key.categoryId(), key.walletId(),
+                            key.day(), key.type(), delta.amount, delta.count));
+                } else {
+                    log.warn("Rollup row missing for {}, run a rollup rebuild", key);
+                }
+            }
+            if (delta.count < 0) {
+                shrunkWallets.add(key.walletId());
+            }
+        }
+        rollupRepository.saveAll(created);
+        for (Long walletId : shrunkWallets) {
+            rollupRepository.deleteEmptyByWalletId(walletId);
+        }
+    }
+
+    /**
+     * Write collected deltas as new rows in one JDBC batch. Only for wallets that have no rollups yet
+     * (freshly generated data); everything else goes through apply.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertNew(Deltas deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.changes.size());
+        for (Map.Entry<RollupKey, RollupDelta> entry : deltas.changes.entrySet()) {
+            RollupKey key = entry.getKey();
+            rows.add(new Object[] {key.userId(), key.categoryId(), key.walletId(), new java.sql.Date(key.day().getTime()),
+                    key.type().name(), entry.getValue().amount, entry.getValue().count});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transaction_daily_rollups (user_id, category_id, wallet_id, rollup_date, " +
+                "type, total_amount, transaction_count) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Drop the rollups of a wallet whose transactions are being deleted with it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordWalletDeleted(Long walletId) {
+        rollupRepository.deleteByWalletId(walletId);
+    }
+
+    /**
+     * Scheduled safety net: rebuild all rollups from the transactions table.
+     */
+    @Scheduled(cron = "${wallet.rollups.rebuild-cron:-}")
+    public void runScheduledRebuild() {
+        Map<String, Object> result = rebuild();
+        log.info("Transaction rollups rebuilt: {}", result);
+    }
+
+    /**
+     * Recompute rollups wallet by wallet, in id-ordered batches.
+     * Each batch locks its wallets first, so concurrent writes to them wait instead of being lost.
+     */
+    public Map<String, Object> rebuild() {
+        long wallets = 0;
+        long rows = 0;
+
+        long afterId = 0;
+        while (true) {
+            List<Long> walletIds = new ArrayList<>();
+            for (Object[] row : walletRepository.findIdsAndInitialBalancesAfter(afterId, PageRequest.of(0, rebuildBatchSize))) {
+                walletIds.add((Long) row[0]);
+            }
+            if (walletIds.isEmpty()) {
+                break;
+            }
+
+            Integer batchRows = transactionTemplate.execute(status -> {
+                walletRepository.lockByIds(walletIds);
+                int count = 0;
+                for (Long walletId : walletIds) {
+                    rollupRepository.deleteByWalletId(walletId);
+                    List<TransactionDailyRollup> rollups = new ArrayList<>();
+                    for (Object[] row : transactionRepository.aggregateDailyByWalletId(walletId)) {
+                        LocalDate day = LocalDate.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue(),
+                                ((Number) row[4]).intValue());
+                        rollups.add(new TransactionDailyRollup((Long) row[0], (Long) row[1], walletId,
+                                Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant()),
+                                (TransactionType) row[5], (BigDecimal) row[6], ((Number) row[7]).longValue()));
+                    }
+                    rollupRepository.saveAll(rollups);
+                    count += rollups.size();
+                }
+                return count;
+            });
+
+            wallets += walletIds.size();
+            rows += batchRows != null ? batchRows : 0;
+            afterId = walletIds.get(walletIds.size() - 1);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("walletsProcessed", wallets);
+        result.put("rollupRows", rows);
+        return result;
+    }
+
+    private static Date startOfDay(Date date) {
+        LocalDate day = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private record RollupKey(Long userId, Long categoryId, Long walletId, Date day, TransactionType type) {}
+
+    private static class RollupDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+    }
+}
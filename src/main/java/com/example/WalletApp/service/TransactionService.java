@@ -1,19 +1,31 @@
 package com.example.WalletApp.service;
 
 import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.TransactionPageDTO;
 import com.example.WalletApp.dto.TransferDTO;
 import com.example.WalletApp.entity.*;
+import com.example.WalletApp.event.TransactionChangedEvent;
+import com.example.WalletApp.event.WalletChangedEvent;
 import com.example.WalletApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for Transaction management with atomic transfer operations.
@@ -34,11 +46,53 @@ public class TransactionService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private WalletLockTable walletLockTable;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private TransactionRollupService rollupService;
+    
+    @Autowired
+    private CurrencyRateCache currencyRateCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${wallet.transactions.page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${wallet.transactions.max-page-size:500}")
+    private int maxPageSize;
+    
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
     /**
      * Create a new transaction and update wallet balance atomically.
      */
     @Transactional
     public TransactionDTO createTransaction(TransactionDTO transactionDTO, Long userId) {
+        return createTransaction(transactionDTO, userId, null);
+    }
+    
+    /**
+     * Create a transaction; with an idempotency key the outcome is stored in the same commit.
+     */
+    @Transactional
+    public TransactionDTO createTransaction(TransactionDTO transactionDTO, Long userId, String idempotencyKey) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Korisnik ne postoji"));
         
@@ -69,25 +123,53 @@ public class TransactionService {
             transaction.setDateOfTransaction(transactionDTO.getDateOfTransaction());
         }
         
-        // Update wallet balance atomically
-        if (transaction.isIncome()) {
-            wallet.updateBalance(transaction.getAmount());
-        } else {
-            wallet.updateBalance(transaction.getAmount().negate());
+        // This record is the first occurrence; the scheduler materializes the following ones
+        if (transaction.isRepeating() && transaction.getFrequency() != null) {
+            transaction.setNextDueDate(transaction.getFrequency().nextAfter(
+                    transaction.getDateOfTransaction(), transaction.getDateOfTransaction()));
         }
         
-        walletRepository.save(wallet);
+        // Update wallet balance atomically in the database, not read-modify-write on the entity
+        walletRepository.addToBalance(wallet.getId(), transaction.getSignedAmount());
         Transaction savedTransaction = transactionRepository.save(transaction);
+        ledgerService.recordTransaction(savedTransaction);
+        rollupService.recordCreated(savedTransaction);
+        
+        publishBalanceChange(wallet, transaction.getSignedAmount());
+        eventPublisher.publishEvent(TransactionChangedEvent.created(savedTransaction));
         
-        return convertToDTO(savedTransaction);
+        TransactionDTO created = convertToDTO(savedTransaction);
+        if (idempotencyKey != null) {
+            idempotencyService.remember(userId, idempotencyKey, IdempotencyService.CREATE_TRANSACTION, transactionDTO, created);
+        }
+        return created;
     }
     
     /**
      * CRITICAL: Transfer funds between wallets with currency conversion.
      * This method MUST be atomic - all steps succeed or all fail.
+     * Both wallets are locked in ascending order for the whole transaction, so opposite
+     * transfers cannot deadlock; a busy wallet fails fast with WalletBusyException.
      */
-    @Transactional
     public void transferFunds(TransferDTO transferDTO, Long userId) {
+        transferFunds(transferDTO, userId, null);
+    }
+    
+    /**
+     * Transfer funds; with an idempotency key the outcome is stored in the same commit.
+     */
+    public void transferFunds(TransferDTO transferDTO, Long userId, String idempotencyKey) {
+        List<Long> walletIds = List.of(transferDTO.getFromWalletId(), transferDTO.getToWalletId());
+        walletLockTable.withLocks(walletIds, () -> transactionTemplate.execute(status -> {
+            executeTransfer(transferDTO, userId);
+            if (idempotencyKey != null) {
+                idempotencyService.remember(userId, idempotencyKey, IdempotencyService.TRANSFER, transferDTO, null);
+            }
+            return null;
+        }));
+    }
+    
+    private void executeTransfer(TransferDTO transferDTO, Long userId) {
         // Step 1: Validate wallets
         Wallet fromWallet = walletRepository.findById(transferDTO.getFromWalletId())
                 .orElseThrow(() -> new RuntimeException("Izvorni novčanik ne postoji"));
@@ -103,30 +185,27 @@ public class TransactionService {
             throw new RuntimeException("Nemate pristup odredišnom novčaniku");
         }
         
-        // Step 2: Validate sufficient funds
-        if (fromWallet.getCurrentBalance().compareTo(transferDTO.getAmount()) < 0) {
-            throw new RuntimeException("Nedovoljno sredstava na izvornom novčaniku");
-        }
-        
-        // Step 3: Calculate conversion if currencies differ
+        // Step 2: Calculate conversion if currencies differ
         BigDecimal transferAmount = transferDTO.getAmount();
         BigDecimal receivedAmount = transferAmount;
         
         if (!fromWallet.getCurrency().getId().equals(toWallet.getCurrency().getId())) {
-            // Convert through EUR as base currency
-            Double fromRate = fromWallet.getCurrency().getValueToEur();
-            Double toRate = toWallet.getCurrency().getValueToEur();
-            
-            // Convert to EUR, then to target currency
-            BigDecimal amountInEur = transferAmount.multiply(BigDecimal.valueOf(fromRate));
-            receivedAmount = amountInEur.divide(BigDecimal.valueOf(toRate), 2, RoundingMode.HALF_UP);
+            // Precomputed cross rate (through EUR); no currency proxies or rate queries on this path
+            receivedAmount = currencyRateCache.convert(transferAmount,
+                    fromWallet.getCurrency().getId(), toWallet.getCurrency().getId());
         }
         
-        // Step 4: Update balances atomically
-        fromWallet.updateBalance(transferAmount.negate());
-        toWallet.updateBalance(receivedAmount);
+        // Step 3: Update balances atomically in ascending wallet id order, matching the lock order;
+        // the debit itself checks for sufficient funds
+        if (fromWallet.getId() < toWallet.getId()) {
+            withdraw(fromWallet, transferAmount);
+            walletRepository.addToBalance(toWallet.getId(), receivedAmount);
+        } else {
+            walletRepository.addToBalance(toWallet.getId(), receivedAmount);
+            withdraw(fromWallet, transferAmount);
+        }
         
-        // Step 5: Create transaction records
+        // Step 4: Create transaction records
         User user = userRepository.findById(userId).orElseThrow();
         Category transferCategory = categoryRepository.findById(1L).orElseThrow(); // Default category
         
@@ -148,20 +227,27 @@ public class TransactionService {
         incomeTransaction.setWallet(toWallet);
         incomeTransaction.setUser(user);
         
-        // Step 6: Save all changes (atomic commit)
-        walletRepository.save(fromWallet);
-        walletRepository.save(toWallet);
+        // Step 5: Save all changes (atomic commit)
         transactionRepository.save(expenseTransaction);
         transactionRepository.save(incomeTransaction);
+        ledgerService.recordTransfer(expenseTransaction, incomeTransaction);
+        TransactionRollupService.Deltas rollupDeltas = new TransactionRollupService.Deltas();
+        rollupDeltas.added(expenseTransaction);
+        rollupDeltas.added(incomeTransaction);
+        rollupService.apply(rollupDeltas);
+        
+        publishBalanceChange(fromWallet, transferAmount.negate());
+        publishBalanceChange(toWallet, receivedAmount);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(expenseTransaction));
+        eventPublisher.publishEvent(TransactionChangedEvent.created(incomeTransaction));
     }
     
     /**
      * Get all transactions for a user.
+     * List reads select DTOs directly, so no entity or lazy association is loaded per row.
      */
     public List<TransactionDTO> getUserTransactions(Long userId) {
-        return transactionRepository.findByUserId(userId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findDTOsByUserId(userId);
     }
     
     /**
@@ -175,49 +261,104 @@ public class TransactionService {
             throw new RuntimeException("Nemate pristup ovom novčaniku");
         }
         
-        return transactionRepository.findByWalletId(walletId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findDTOsByWalletId(walletId);
+    }
+    
+    /**
+     * Get one keyset page of user transactions, newest first.
+     * Seeks on (dateOfTransaction, id) so cost does not grow with history size.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getUserTransactionsPage(Long userId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<TransactionDTO> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfter(
+                    userId, position.getDateOfTransaction(), position.getId(), limit);
+        }
+        
+        return toPage(rows, pageSize);
+    }
+    
+    /**
+     * Get one keyset page of wallet transactions, newest first.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getWalletTransactionsPage(Long walletId, Long userId, String cursor, Integer size) {
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        
+        if (!wallet.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Nemate pristup ovom novčaniku");
+        }
+        
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<TransactionDTO> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = transactionRepository.findFirstPageByWalletId(walletId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByWalletIdAfter(
+                    walletId, position.getDateOfTransaction(), position.getId(), limit);
+        }
+        
+        return toPage(rows, pageSize);
     }
     
     /**
      * Get transactions in date range.
      */
     public List<TransactionDTO> getTransactionsByDateRange(Long userId, Date startDate, Date endDate) {
-        return transactionRepository.findByUserIdAndDateRange(userId, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findDTOsByUserIdAndDateRange(userId, startDate, endDate);
     }
     
     /**
-     * Get Top 10 transactions by amount for a specific period.
+     * Get Top N transactions by amount for a specific period (limit applied in SQL).
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTopTransactions(Date fromDate, int limit) {
-        return transactionRepository.findTop10TransactionsByDate(fromDate).stream()
-                .limit(limit)
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findTopTransactionsByDate(fromDate, PageRequest.of(0, limit));
     }
     
     /**
      * Search and filter transactions (admin only).
+     * All filters are pushed down as SQL predicates; sorting and paging run in the database.
      */
-    public List<TransactionDTO> searchTransactions(String user, String category, 
+    @Transactional(readOnly = true)
+    public Page<TransactionDTO> searchTransactions(String user, String category, 
                                                   BigDecimal minAmount, BigDecimal maxAmount,
                                                   Date startDate, Date endDate,
-                                                  String sortBy, String sortOrder) {
-        // This would require custom repository methods with specifications
-        // For now, return all transactions (can be enhanced later)
-        return getAllTransactions();
+                                                  String sortBy, String sortOrder,
+                                                  Integer page, Integer size) {
+        Specification<Transaction> spec = Specification.where(TransactionSpecifications.fetchAssociations())
+                .and(TransactionSpecifications.userMatches(user))
+                .and(TransactionSpecifications.categoryMatches(category))
+                .and(TransactionSpecifications.amountAtLeast(minAmount))
+                .and(TransactionSpecifications.amountAtMost(maxAmount))
+                .and(TransactionSpecifications.dateFrom(startDate))
+                .and(TransactionSpecifications.dateBefore(endDate));
+        
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortOrder) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, resolveSortProperty(sortBy)).and(Sort.by(direction, "id"));
+        
+        int pageNumber = page != null && page >= 0 ? page : 0;
+        Pageable pageable = PageRequest.of(pageNumber, resolvePageSize(size), sort);
+        
+        return transactionRepository.findAll(spec, pageable).map(this::convertToDTO);
     }
     
     /**
      * Get all transactions (admin only).
      */
     public List<TransactionDTO> getAllTransactions() {
-        return transactionRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findAllDTOs();
     }
     
     /**
@@ -242,14 +383,74 @@ public class TransactionService {
         
         // Revert wallet balance
         Wallet wallet = transaction.getWallet();
-        if (transaction.isIncome()) {
-            wallet.updateBalance(transaction.getAmount().negate());
-        } else {
-            wallet.updateBalance(transaction.getAmount());
+        walletRepository.addToBalance(wallet.getId(), transaction.getSignedAmount().negate());
+        ledgerService.recordReversal(transaction);
+        rollupService.recordDeleted(transaction);
+        transactionRepository.delete(transaction);
+        
+        publishBalanceChange(wallet, transaction.getSignedAmount().negate());
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(transaction));
+    }
+    
+    private void withdraw(Wallet wallet, BigDecimal amount) {
+        if (walletRepository.withdraw(wallet.getId(), amount) == 0) {
+            throw new RuntimeException("Nedovoljno sredstava na izvornom novčaniku");
+        }
+    }
+    
+    /**
+     * Publish balance delta of a wallet; listeners receive it only after commit.
+     */
+    private void publishBalanceChange(Wallet wallet, BigDecimal delta) {
+        eventPublisher.publishEvent(WalletChangedEvent.balanceChanged(
+                wallet.getId(), wallet.getUser().getId(), wallet.isArchived(), delta));
+    }
+    
+    /**
+     * Clamp requested page size to configured bounds.
+     */
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
         }
+        return Math.min(size, maxPageSize);
+    }
+    
+    /**
+     * Map admin search sort keys to entity properties.
+     */
+    private String resolveSortProperty(String sortBy) {
+        if (sortBy == null) {
+            return "dateOfTransaction";
+        }
+        switch (sortBy) {
+            case "amount":
+                return "amount";
+            case "name":
+                return "name";
+            case "user":
+                return "user.username";
+            case "category":
+                return "category.name";
+            default:
+                return "dateOfTransaction";
+        }
+    }
+    
+    /**
+     * Build page from pageSize + 1 fetched rows; the extra row only signals that more exist.
+     */
+    private TransactionPageDTO toPage(List<TransactionDTO> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<TransactionDTO> content = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
         
-        walletRepository.save(wallet);
-        transactionRepository.delete(transaction);
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionDTO last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.getDateOfTransaction(), last.getId()).encode();
+        }
+        
+        return new TransactionPageDTO(content, nextCursor, hasNext, pageSize);
     }
     
     /**
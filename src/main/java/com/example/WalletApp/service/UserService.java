@@ -4,9 +4,11 @@ import com.example.WalletApp.dto.LoginDTO;
 import com.example.WalletApp.dto.UserDTO;
 import com.example.WalletApp.entity.Currency;
 import com.example.WalletApp.entity.User;
+import com.example.WalletApp.event.UserChangedEvent;
 import com.example.WalletApp.repository.CurrencyRepository;
 import com.example.WalletApp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +34,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Register a new user with encrypted password.
      */
@@ -62,6 +67,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), 1, 1));
         return convertToDTO(savedUser);
     }
     
@@ -124,6 +130,8 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        // Counts are unchanged; listeners drop figures converted to the old currency
+        eventPublisher.publishEvent(new UserChangedEvent(id, 0, 0));
         return convertToDTO(updatedUser);
     }
     
@@ -137,6 +145,7 @@ public class UserService {
         
         user.setBlocked(!user.isBlocked());
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, 0, user.isBlocked() ? -1 : 1));
         return convertToDTO(updatedUser);
     }
     
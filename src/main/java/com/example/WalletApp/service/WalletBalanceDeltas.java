@@ -0,0 +1,39 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Net balance change per wallet, collected while many transactions are written and applied
+ * with one addToBalance per wallet.
+ * Wallets are visited in ascending id order, the order transfers lock them in, so batch
+ * writers and transfers cannot deadlock on balance rows.
+ */
+public class WalletBalanceDeltas {
+
+    private final Map<Long, BigDecimal> deltas = new TreeMap<>();
+
+    public void added(Transaction transaction) {
+        deltas.merge(transaction.getWallet().getId(), transaction.getSignedAmount(), BigDecimal::add);
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    public Set<Long> walletIds() {
+        return deltas.keySet();
+    }
+
+    /**
+     * Visit each wallet's net change in ascending wallet id order.
+     */
+    public void forEach(BiConsumer<Long, BigDecimal> action) {
+        deltas.forEach(action);
+    }
+}
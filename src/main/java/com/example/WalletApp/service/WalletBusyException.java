@@ -0,0 +1,17 @@
+package com.example.WalletApp.service;
+
+/**
+ * Thrown when a wallet lock could not be acquired in time.
+ * Carries a retry hint for the client instead of letting the request wait.
+ */
+public class WalletBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public WalletBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() { return retryAfterSeconds; }
+}
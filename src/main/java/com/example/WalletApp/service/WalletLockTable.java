@@ -0,0 +1,71 @@
+package com.example.WalletApp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process lock table keyed by wallet id.
+ * Stripes are always taken in ascending order, so two operations on the same wallets
+ * (e.g. opposite transfers) can never wait on each other in a cycle. Acquisition is bounded;
+ * on timeout the caller gets a WalletBusyException with a retry hint.
+ */
+@Component
+public class WalletLockTable {
+
+    @Value("${wallet.locks.stripes:1024}")
+    private int stripes;
+
+    @Value("${wallet.locks.timeout-ms:250}")
+    private long timeoutMs;
+
+    @Value("${wallet.locks.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private ReentrantLock[] locks;
+
+    @PostConstruct
+    public void init() {
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run work while holding the stripes of all given wallets.
+     */
+    public <T> T withLocks(Collection<Long> walletIds, Supplier<T> work) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long walletId : walletIds) {
+            indexes.add(Math.floorMod(Long.hashCode(walletId), stripes));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (Integer index : indexes) {
+                ReentrantLock lock = locks[index];
+                if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new WalletBusyException("Novčanik je trenutno zauzet, pokušajte ponovo", retryAfterSeconds);
+                }
+                held.add(lock);
+            }
+            return work.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalletBusyException("Operacija je prekinuta", retryAfterSeconds);
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+}
@@ -4,15 +4,23 @@ import com.example.WalletApp.dto.WalletDTO;
 import com.example.WalletApp.entity.Currency;
 import com.example.WalletApp.entity.User;
 import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.event.CurrencyChangedEvent;
+import com.example.WalletApp.event.UserChangedEvent;
+import com.example.WalletApp.event.WalletChangedEvent;
 import com.example.WalletApp.repository.CurrencyRepository;
 import com.example.WalletApp.repository.UserRepository;
 import com.example.WalletApp.repository.WalletRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +38,21 @@ public class WalletService {
     @Autowired
     private CurrencyRepository currencyRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    
+    @Autowired
+    private TransactionRollupService rollupService;
+    
+    @Autowired
+    private CurrencyRateCache currencyRateCache;
+    
+    // Converted total balance per user, dropped when one of the user's wallets changes
+    private final GenerationCache<Long, Map<String, Object>> totalBalanceCache = new GenerationCache<>();
+    
     /**
      * Create a new wallet for a user.
      */
@@ -50,6 +73,8 @@ public class WalletService {
         wallet.setSavings(walletDTO.isSavings());
         
         Wallet savedWallet = walletRepository.save(wallet);
+        eventPublisher.publishEvent(new WalletChangedEvent(
+                savedWallet.getId(), userId, 1, savedWallet.getCurrentBalance(), false));
         return convertToDTO(savedWallet);
     }
     
@@ -87,78 +112,148 @@ public class WalletService {
     
     /**
      * Update wallet details.
+     * Wallet edits are version-checked against concurrent balance updates and retried on conflict.
      */
-    @Transactional
     public WalletDTO updateWallet(Long walletId, WalletDTO walletDTO, Long userId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        return optimisticRetry.execute(() -> {
+            Wallet wallet = walletRepository.findById(walletId)
+                    .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
         
-        if (!wallet.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Nemate pristup ovom novčaniku");
-        }
+            if (!wallet.getUser().getId().equals(userId)) {
+                throw new RuntimeException("Nemate pristup ovom novčaniku");
+            }
         
-        wallet.setName(walletDTO.getName());
-        wallet.setSavings(walletDTO.isSavings());
+            wallet.setName(walletDTO.getName());
+            wallet.setSavings(walletDTO.isSavings());
         
-        Wallet updatedWallet = walletRepository.save(wallet);
-        return convertToDTO(updatedWallet);
+            Wallet updatedWallet = walletRepository.save(wallet);
+            return convertToDTO(updatedWallet);
+        });
     }
     
     /**
      * Archive wallet.
      */
-    @Transactional
     public WalletDTO archiveWallet(Long walletId, Long userId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        return optimisticRetry.execute(() -> {
+            Wallet wallet = walletRepository.findById(walletId)
+                    .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
         
-        if (!wallet.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Nemate pristup ovom novčaniku");
-        }
+            if (!wallet.getUser().getId().equals(userId)) {
+                throw new RuntimeException("Nemate pristup ovom novčaniku");
+            }
         
-        wallet.archive();
-        Wallet updatedWallet = walletRepository.save(wallet);
-        return convertToDTO(updatedWallet);
+            boolean wasActive = !wallet.isArchived();
+            wallet.archive();
+            Wallet updatedWallet = walletRepository.save(wallet);
+            if (wasActive) {
+                eventPublisher.publishEvent(new WalletChangedEvent(
+                        walletId, userId, -1, wallet.getCurrentBalance().negate(), false));
+            }
+            return convertToDTO(updatedWallet);
+        });
     }
     
     /**
      * Unarchive wallet.
      */
-    @Transactional
     public WalletDTO unarchiveWallet(Long walletId, Long userId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        return optimisticRetry.execute(() -> {
+            Wallet wallet = walletRepository.findById(walletId)
+                    .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
         
-        if (!wallet.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Nemate pristup ovom novčaniku");
-        }
+            if (!wallet.getUser().getId().equals(userId)) {
+                throw new RuntimeException("Nemate pristup ovom novčaniku");
+            }
         
-        wallet.unarchive();
-        Wallet updatedWallet = walletRepository.save(wallet);
-        return convertToDTO(updatedWallet);
+            boolean wasArchived = wallet.isArchived();
+            wallet.unarchive();
+            Wallet updatedWallet = walletRepository.save(wallet);
+            if (wasArchived) {
+                eventPublisher.publishEvent(new WalletChangedEvent(
+                        walletId, userId, 1, wallet.getCurrentBalance(), false));
+            }
+            return convertToDTO(updatedWallet);
+        });
     }
     
     /**
      * Delete wallet.
      */
-    @Transactional
     public void deleteWallet(Long walletId, Long userId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
+        optimisticRetry.execute(() -> {
+            Wallet wallet = walletRepository.findById(walletId)
+                    .orElseThrow(() -> new RuntimeException("Novčanik ne postoji"));
         
-        if (!wallet.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Nemate pristup ovom novčaniku");
-        }
+            if (!wallet.getUser().getId().equals(userId)) {
+                throw new RuntimeException("Nemate pristup ovom novčaniku");
+            }
         
-        walletRepository.delete(wallet);
+            walletRepository.delete(wallet);
+            rollupService.recordWalletDeleted(walletId);
+            eventPublisher.publishEvent(new WalletChangedEvent(walletId, userId,
+                    wallet.isArchived() ? 0 : -1,
+                    wallet.isArchived() ? BigDecimal.ZERO : wallet.getCurrentBalance().negate(),
+                    true));
+            return null;
+        });
     }
     
     /**
-     * Get total balance for a user.
+     * Get total balance of a user's active wallets in the user's currency.
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalUserBalance(Long userId) {
-        BigDecimal total = walletRepository.getTotalBalanceByUserId(userId);
-        return total != null ? total : BigDecimal.ZERO;
+        return (BigDecimal) getTotalBalance(userId).get("total");
+    }
+    
+    /**
+     * Total balance of active wallets converted into the user's currency.
+     * One grouped query per currency plus in-memory cross rates; cached per user.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTotalBalance(Long userId) {
+        return totalBalanceCache.getOrLoad(userId, this::loadTotalBalance);
+    }
+    
+    private Map<String, Object> loadTotalBalance(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Korisnik ne postoji"));
+        // Users without a currency get the total in EUR
+        Currency target = user.getCurrency();
+        
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Object[] row : walletRepository.getBalancesByCurrency(userId)) {
+            Long currencyId = (Long) row[0];
+            BigDecimal rate = target != null
+                    ? currencyRateCache.rate(currencyId, target.getId())
+                    : currencyRateCache.valueToEur(currencyId);
+            sum = sum.add(((BigDecimal) row[1]).multiply(rate, CurrencyRateCache.RATE_CONTEXT));
+        }
+        
+        Map<String, Object> total = new HashMap<>();
+        total.put("total", sum.setScale(2, RoundingMode.HALF_UP));
+        total.put("currency", target != null ? target.getName() : "EUR");
+        return Map.copyOf(total);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWalletChanged(WalletChangedEvent event) {
+        evictTotalBalance(event.getUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictTotalBalance(event.getUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        totalBalanceCache.clear();
+    }
+    
+    private void evictTotalBalance(Long userId) {
+        totalBalanceCache.evict(userId);
     }
     
     /**
@@ -8,6 +8,10 @@ INSERT INTO currencies (name, value_to_eur) VALUES
 ('GBP', 1.17),
 ('CHF', 0.92);
 
+-- Rate history: seeded rates apply to all earlier dates
+INSERT INTO currency_rates (currency_id, rate_date, value_to_eur)
+SELECT id, DATE '2000-01-01', value_to_eur FROM currencies;
+
 -- Insert predefined categories for income
 INSERT INTO categories (name, type, predefined, user_id) VALUES 
 ('Plata', 'INCOME', true, NULL),
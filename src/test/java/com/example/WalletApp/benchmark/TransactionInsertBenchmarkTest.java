@@ -0,0 +1,83 @@
+package com.example.WalletApp.benchmark;
+
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Insert throughput benchmark for Transaction rows through JPA.
+ * Run with: mvn test -Dtest=TransactionInsertBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.WalletApp=INFO"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionInsertBenchmarkTest.class);
+
+    private static final int WARMUP_ROWS = 20_000;
+    private static final int MEASURED_ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void measureInsertThroughput() {
+        Currency currency = currencyRepository.findById(1L).orElseThrow();
+        User user = userRepository.save(new User("Bench", "User", "bench.user", "bench@example.com",
+                "password", new Date(), Role.USER, currency));
+        Wallet wallet = walletRepository.save(new Wallet("Bench", BigDecimal.ZERO, user, currency));
+        Category category = categoryRepository.findById(1L).orElseThrow();
+
+        insert(WARMUP_ROWS, user, wallet, category);
+
+        long start = System.nanoTime();
+        insert(MEASURED_ROWS, user, wallet, category);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        log.info("Transaction inserts: {} rows in {} s = {} rows/s",
+                MEASURED_ROWS, String.format("%.2f", seconds), String.format("%.0f", MEASURED_ROWS / seconds));
+    }
+
+    private void insert(int rows, User user, Wallet wallet, Category category) {
+        for (int done = 0; done < rows; done += CHUNK) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Transaction> chunk = new ArrayList<>(CHUNK);
+                for (int i = 0; i < CHUNK; i++) {
+                    chunk.add(new Transaction("Bench", new BigDecimal("12.34"), TransactionType.INCOME,
+                            category, wallet, user));
+                }
+                transactionRepository.saveAll(chunk);
+            });
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.WalletApp.config;
+
+import com.example.WalletApp.service.CurrencyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Service and repository calls show up on the Prometheus endpoint with counts, buckets and error outcomes.
+ * The endpoint is served on the management port only, not under the public /api path.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:metrics",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureMetrics
+class ServiceMetricsAspectTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Test
+    void serviceAndRepositoryCallsAreExported() throws Exception {
+        currencyService.getAllCurrencies();
+        assertThrows(RuntimeException.class, () -> currencyService.getCurrencyById(-1L));
+
+        assertNotEquals(serverPort, managementPort);
+        ResponseEntity<String> publicPort = restTemplate.getForEntity(
+                "http://127.0.0.1:" + serverPort + "/api/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, publicPort.getStatusCode());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://127.0.0.1:" + managementPort + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+
+        assertTrue(body.contains("wallet_service_invocations_seconds_count{application=\"WalletApp\",exception=\"none\","
+                + "method=\"getAllCurrencies\",outcome=\"SUCCESS\",service=\"CurrencyService\",}"), body);
+        assertTrue(body.contains("wallet_service_invocations_seconds_count{application=\"WalletApp\",exception=\"RuntimeException\","
+                + "method=\"getCurrencyById\",outcome=\"ERROR\",service=\"CurrencyService\",}"), body);
+        assertTrue(body.contains("wallet_service_invocations_seconds_bucket{application=\"WalletApp\""), body);
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket{application=\"WalletApp\","
+                + "exception=\"None\",method=\"findAll\",repository=\"CurrencyRepository\",state=\"SUCCESS\""), body);
+    }
+}
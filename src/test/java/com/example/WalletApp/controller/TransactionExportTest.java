@@ -0,0 +1,132 @@
+package com.example.WalletApp.controller;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.UserDTO;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * User and admin exports stream every row in the requested format as a file download.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:export")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User user;
+    private Wallet wallet;
+    private TransactionDTO salary;
+    private TransactionDTO lunch;
+
+    @BeforeAll
+    void setUp() {
+        user = fixtures.user("export.user", EUR);
+        wallet = fixtures.wallet(user, "Evri, glavni", "100.00", EUR);
+        salary = fixtures.create(wallet, "INCOME", 1L, "2000.00", day(2026, 5, 1), user);
+        lunch = fixtures.create(wallet, "EXPENSE", 6L, "12.50", day(2026, 5, 2), user);
+    }
+
+    @Test
+    void userCsvExport() throws Exception {
+        MockHttpServletResponse response = download("/transactions/export?format=csv", session("USER"));
+
+        assertEquals("text/csv", response.getContentType());
+        assertEquals("attachment; filename=\"transactions.csv\"", response.getHeader("Content-Disposition"));
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,name,amount,type,categoryId,categoryName,walletId,walletName,"
+                + "dateOfTransaction,userId,userName,repeating,frequency", lines[0]);
+        assertEquals(salary.getId() + ",INCOME 2000.00,2000.00,INCOME,1,Plata," + wallet.getId() + ",\"Evri, glavni\","
+                + "2026-05-01T00:00:00," + user.getId() + ",export.user,false,", lines[1]);
+        assertTrue(lines[2].startsWith(lunch.getId() + ",EXPENSE 12.50,12.50,EXPENSE,6,Hrana,"), lines[2]);
+    }
+
+    @Test
+    void adminNdjsonExport() throws Exception {
+        MockHttpServletResponse response = download("/admin/transactions/export?format=ndjson", session("ADMINISTRATOR"));
+
+        assertEquals("application/x-ndjson", response.getContentType());
+        assertEquals("attachment; filename=\"transactions.ndjson\"", response.getHeader("Content-Disposition"));
+        List<JsonNode> rows = response.getContentAsString(StandardCharsets.UTF_8).lines()
+                .map(this::readTree)
+                .toList();
+        assertEquals(List.of(salary.getId(), lunch.getId()), rows.stream().map(r -> r.get("id").asLong()).toList());
+        assertEquals("Evri, glavni", rows.get(0).get("walletName").asText());
+        assertMoney("12.50", rows.get(1).get("amount").decimalValue());
+        assertEquals("EXPENSE", rows.get(1).get("type").asText());
+    }
+
+    @Test
+    void adminExportRequiresAdministrator() throws Exception {
+        MockHttpServletResponse response = download("/admin/transactions/export", session("USER"), 403);
+
+        assertEquals("application/json", response.getContentType());
+        assertEquals("Nemate pristup ovoj akciji",
+                readTree(response.getContentAsString(StandardCharsets.UTF_8)).get("error").asText());
+    }
+
+    private MockHttpServletResponse download(String url, MockHttpSession session) throws Exception {
+        return download(url, session, 200);
+    }
+
+    private MockHttpServletResponse download(String url, MockHttpSession session, int expectedStatus) throws Exception {
+        MvcResult started = mockMvc.perform(get(url).session(session))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse();
+    }
+
+    private MockHttpSession session(String role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.getId());
+        userDTO.setUsername(user.getUsername());
+        userDTO.setRole(role);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("user", userDTO);
+        return session;
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(line, e);
+        }
+    }
+}
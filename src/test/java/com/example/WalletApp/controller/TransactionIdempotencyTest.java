@@ -0,0 +1,150 @@
+package com.example.WalletApp.controller;
+
+import com.example.WalletApp.dto.UserDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Retried POSTs with the same Idempotency-Key must be booked exactly once.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:idempotency",
+    "spring.jpa.show-sql=false",
+    // Retries queue on the wallet lock here; fail-fast 503s are not what this test is about
+    "wallet.locks.timeout-ms=10000"
+})
+@AutoConfigureMockMvc
+class TransactionIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    private MockHttpSession session;
+    private Wallet first;
+    private Wallet second;
+
+    @BeforeEach
+    void setUp() {
+        Currency currency = currencyRepository.findById(1L).orElseThrow();
+        String suffix = String.valueOf(System.nanoTime());
+        User user = userRepository.save(new User("Retry", "User", "retry" + suffix, "retry" + suffix + "@example.com",
+                "password", new Date(), Role.USER, currency));
+        first = walletRepository.save(new Wallet("Prvi", new BigDecimal("100.00"), user, currency));
+        second = walletRepository.save(new Wallet("Drugi", new BigDecimal("100.00"), user, currency));
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.getId());
+        userDTO.setUsername(user.getUsername());
+        userDTO.setRole("USER");
+        session = new MockHttpSession();
+        session.setAttribute("user", userDTO);
+    }
+
+    @Test
+    void repeatedCreateIsBookedOnce() throws Exception {
+        String body = "{\"name\":\"Plata\",\"amount\":50.00,\"type\":\"INCOME\",\"categoryId\":1,\"walletId\":" + first.getId() + "}";
+
+        MvcResult original = mockMvc.perform(post("/transactions").session(session)
+                        .header("Idempotency-Key", "create-1").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        MvcResult replay = mockMvc.perform(post("/transactions").session(session)
+                        .header("Idempotency-Key", "create-1").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+
+        assertEquals(original.getResponse().getContentAsString(), replay.getResponse().getContentAsString());
+        assertEquals(1, transactionRepository.findDTOsByWalletId(first.getId()).size());
+        assertEquals(0, new BigDecimal("150.00").compareTo(balance(first)));
+    }
+
+    @Test
+    void repeatedTransferIsBookedOnce() throws Exception {
+        String body = "{\"fromWalletId\":" + first.getId() + ",\"toWalletId\":" + second.getId() + ",\"amount\":30.00}";
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/transactions/transfer").session(session)
+                            .header("Idempotency-Key", "transfer-1").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(balance(first)));
+        assertEquals(0, new BigDecimal("130.00").compareTo(balance(second)));
+    }
+
+    @Test
+    void concurrentRetriesAreBookedOnce() throws Exception {
+        String body = "{\"fromWalletId\":" + first.getId() + ",\"toWalletId\":" + second.getId() + ",\"amount\":10.00}";
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> mockMvc.perform(post("/transactions/transfer").session(session)
+                            .header("Idempotency-Key", "transfer-2").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andReturn().getResponse().getStatus()));
+        }
+        for (Future<Integer> future : futures) {
+            assertEquals(200, future.get(1, TimeUnit.MINUTES));
+        }
+        pool.shutdown();
+
+        assertEquals(0, new BigDecimal("90.00").compareTo(balance(first)));
+        assertEquals(0, new BigDecimal("110.00").compareTo(balance(second)));
+    }
+
+    @Test
+    void keyReusedForDifferentPayloadIsRejected() throws Exception {
+        String body = "{\"name\":\"Kafa\",\"amount\":5.00,\"type\":\"EXPENSE\",\"categoryId\":6,\"walletId\":" + first.getId() + "}";
+        String changed = body.replace("5.00", "6.00");
+
+        mockMvc.perform(post("/transactions").session(session)
+                        .header("Idempotency-Key", "create-2").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/transactions").session(session)
+                        .header("Idempotency-Key", "create-2").contentType(MediaType.APPLICATION_JSON).content(changed))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, new BigDecimal("95.00").compareTo(balance(first)));
+    }
+
+    private BigDecimal balance(Wallet wallet) {
+        return walletRepository.findById(wallet.getId()).orElseThrow().getCurrentBalance();
+    }
+}
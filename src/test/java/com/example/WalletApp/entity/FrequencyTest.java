@@ -0,0 +1,35 @@
+package com.example.WalletApp.entity;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+class FrequencyTest {
+
+    private static Date date(int year, int month, int day) {
+        return Date.from(LocalDateTime.of(year, month, day, 10, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Test
+    void testMonthlyKeepsMonthEndAnchor() {
+        Date anchor = date(2024, 1, 31);
+        
+        Date february = Frequency.MONTHLY.nextAfter(anchor, anchor);
+        Date march = Frequency.MONTHLY.nextAfter(anchor, february);
+        
+        assertEquals(date(2024, 2, 29), february);
+        assertEquals(date(2024, 3, 31), march);
+    }
+
+    @Test
+    void testNextAfterSkipsMissedPeriods() {
+        Date anchor = date(2024, 1, 1);
+        
+        assertEquals(date(2024, 4, 1), Frequency.QUARTERLY.nextAfter(anchor, date(2024, 2, 15)));
+        assertEquals(date(2024, 1, 15), Frequency.WEEKLY.nextAfter(anchor, date(2024, 1, 8)));
+        assertEquals(date(2026, 1, 1), Frequency.YEARLY.nextAfter(anchor, date(2025, 6, 1)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.WalletApp.entity;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+class MoneyTest {
+
+    private static final Long EUR = 2L;
+    private static final Long RSD = 1L;
+
+    @Test
+    void testRoundTripsThroughBigDecimal() {
+        Money money = Money.of(new BigDecimal("1234.565"), EUR);
+        
+        assertEquals(123457, money.getMinorUnits());
+        assertEquals(new BigDecimal("1234.57"), money.toBigDecimal());
+        assertEquals(Money.ofMinor(-5, EUR), Money.of(new BigDecimal("-0.05"), EUR));
+    }
+
+    @Test
+    void testConversionMatchesBigDecimalPath() {
+        BigDecimal rate = new BigDecimal("1.0").divide(new BigDecimal("0.0085"), MathContext.DECIMAL64);
+        ExchangeRate fixed = ExchangeRate.of(rate);
+        
+        for (String amount : new String[] {"0.01", "1.00", "99.99", "1000.00", "123456.78", "-42.42"}) {
+            BigDecimal expected = new BigDecimal(amount).multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, Money.of(new BigDecimal(amount), EUR).convert(fixed, RSD).toBigDecimal(), amount);
+        }
+    }
+
+    @Test
+    void testLargeAmountsUseWideDivision() {
+        ExchangeRate rate = ExchangeRate.of(new BigDecimal("117.6470588235"));
+        
+        for (long minorUnits : new long[] {7_900_000L, 123_456_789_012L, -Long.MAX_VALUE / 1000}) {
+            Money large = Money.ofMinor(minorUnits, EUR);
+            BigDecimal expected = large.toBigDecimal().multiply(rate.toBigDecimal()).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, large.convert(rate, RSD).toBigDecimal(), String.valueOf(minorUnits));
+        }
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE, EUR).convert(rate, RSD));
+    }
+
+    @Test
+    void testArithmeticRequiresSameCurrency() {
+        Money tenEuros = Money.of(new BigDecimal("10.00"), EUR);
+        
+        assertEquals(Money.of(new BigDecimal("7.50"), EUR), tenEuros.minus(Money.of(new BigDecimal("2.50"), EUR)));
+        assertTrue(tenEuros.negate().isNegative());
+        assertThrows(IllegalArgumentException.class, () -> tenEuros.plus(Money.zero(RSD)));
+        assertEquals(Money.ofMinor(1500, EUR), Money.sum(List.of(tenEuros, tenEuros.minus(Money.ofMinor(500, EUR))), EUR));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.CurrencyDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cross rates are served from memory and replaced as a whole when a currency rate changes.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ratecache",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session.events.log=false",
+    "spring.jpa.show-sql=false"
+})
+class CurrencyRateCacheTest {
+
+    private static final Long RSD = 1L;
+    private static final Long EUR = 2L;
+    private static final Long USD = 3L;
+
+    @Autowired
+    private CurrencyRateCache currencyRateCache;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void lookupsAreInMemoryAndSwappedOnRateChange() {
+        currencyRateCache.reload();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(0, new BigDecimal("8.50").compareTo(currencyRateCache.convert(new BigDecimal("1000.00"), RSD, EUR)));
+        assertEquals(0, new BigDecimal("85.00").compareTo(currencyRateCache.convert(new BigDecimal("100.00"), USD, EUR)));
+        assertEquals(0, BigDecimal.ONE.compareTo(currencyRateCache.rate(USD, USD)));
+        BigDecimal roundTrip = currencyRateCache.rate(EUR, RSD).multiply(currencyRateCache.rate(RSD, EUR));
+        assertTrue(roundTrip.subtract(BigDecimal.ONE).abs().compareTo(new BigDecimal("1e-12")) < 0);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        CurrencyDTO usd = new CurrencyDTO();
+        usd.setName("USD");
+        usd.setValueToEur(0.5);
+        currencyService.updateCurrency(USD, usd);
+
+        assertEquals(0, new BigDecimal("50.00").compareTo(currencyRateCache.convert(new BigDecimal("100.00"), USD, EUR)));
+        assertThrows(RuntimeException.class, () -> currencyRateCache.rate(USD, 999L));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.CurrencyDTO;
+import com.example.WalletApp.entity.CurrencyRate;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.repository.CurrencyRateRepository;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Amounts are converted at the rate in force on their day: as-of lookups come from the cached
+ * series, and a report over many days resolves all its rates with one query.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ratehistory",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session.events.log=false"
+})
+class CurrencyRateHistoryTest {
+
+    @Autowired
+    private CurrencyRateHistory currencyRateHistory;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private CurrencyRateRepository currencyRateRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void conversionsUseTheRateOfTheirDay() {
+        currencyRateRepository.save(new CurrencyRate(USD, day(2026, 3, 1), 0.9));
+        currencyRateRepository.save(new CurrencyRate(USD, day(2026, 3, 15), 0.95));
+        currencyRateRepository.save(new CurrencyRate(GBP, day(2026, 3, 10), 1.2));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CurrencyRateHistory.RateTable rates = currencyRateHistory.resolve(List.of(EUR, USD, GBP));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertMoney("0.85", rates.valueToEur(USD, LocalDate.of(2026, 2, 28)));
+        assertMoney("0.9", rates.valueToEur(USD, LocalDate.of(2026, 3, 1)));
+        assertMoney("0.9", rates.valueToEur(USD, LocalDate.of(2026, 3, 14)));
+        assertMoney("0.95", rates.valueToEur(USD, LocalDate.of(2026, 3, 15)));
+        assertMoney("0.85", rates.valueToEur(USD, LocalDate.of(1999, 1, 1)));
+        assertMoney("1.2", rates.valueToEur(GBP, LocalDate.of(2026, 3, 31)));
+        assertMoney("1", rates.valueToEur(EUR, LocalDate.of(2026, 3, 31)));
+
+        statistics.clear();
+        assertMoney("0.95", currencyRateHistory.valueToEurAsOf(USD, LocalDate.of(2026, 4, 1)));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // A new rate today leaves earlier days untouched
+        CurrencyDTO usd = new CurrencyDTO();
+        usd.setName("USD");
+        usd.setValueToEur(0.5);
+        currencyService.updateCurrency(USD, usd);
+        assertMoney("0.95", currencyRateHistory.valueToEurAsOf(USD, LocalDate.of(2026, 4, 1)));
+        assertMoney("0.5", currencyRateHistory.valueToEurAsOf(USD, LocalDate.now()));
+    }
+
+    @Test
+    void monthlyReportConvertsEachDayAtItsRate() {
+        User user = fixtures.user("history.report", EUR);
+        Wallet francs = fixtures.wallet(user, "Franci", "1000.00", CHF);
+        currencyRateRepository.save(new CurrencyRate(CHF, day(2025, 7, 10), 0.8));
+
+        fixtures.create(francs, "EXPENSE", 6L, "100.00", day(2025, 7, 9), user);
+        fixtures.create(francs, "EXPENSE", 6L, "100.00", day(2025, 7, 10), user);
+        fixtures.create(francs, "INCOME", 1L, "50.00", day(2025, 7, 20), user);
+
+        Map<String, Object> report = reportService.getMonthlyReport(user.getId(), YearMonth.of(2025, 7));
+        // 100 CHF * 0.92 + 100 CHF * 0.8
+        assertMoney("172.00", report.get("expense"));
+        assertMoney("40.00", report.get("income"));
+    }
+}
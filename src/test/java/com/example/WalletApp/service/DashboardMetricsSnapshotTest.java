@@ -0,0 +1,96 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.event.TransactionChangedEvent;
+import com.example.WalletApp.event.UserChangedEvent;
+import com.example.WalletApp.event.WalletChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Committed write events update the dashboard snapshot in place; the staleness bound
+ * reloads it from the database, dropping anything the events got wrong.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:dashboard",
+    "spring.jpa.show-sql=false",
+    "wallet.dashboard.max-staleness-ms=2000"
+})
+class DashboardMetricsSnapshotTest {
+
+    @Autowired
+    private DashboardMetricsSnapshot snapshot;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventsUpdateCountsUntilStalenessReload() throws Exception {
+        Map<String, Object> loaded = snapshot.getMetrics();
+        long users = (Long) loaded.get("totalUsers");
+        long activeUsers = (Long) loaded.get("activeUsers");
+        BigDecimal balance = (BigDecimal) loaded.get("totalSystemBalance");
+
+        // None of these exist in the database, so only the events can account for them
+        eventPublisher.publishEvent(new UserChangedEvent(-1L, 1, 1));
+        eventPublisher.publishEvent(new UserChangedEvent(-2L, 1, 0));
+        eventPublisher.publishEvent(new WalletChangedEvent(-1L, -1L, 1, new BigDecimal("250.00"), false));
+        eventPublisher.publishEvent(TransactionChangedEvent.created(transaction(-1L, "1000000000.00")));
+
+        Map<String, Object> updated = snapshot.getMetrics();
+        assertEquals(users + 2, updated.get("totalUsers"));
+        assertEquals(activeUsers + 1, updated.get("activeUsers"));
+        assertEquals(0, balance.add(new BigDecimal("250.00")).compareTo((BigDecimal) updated.get("totalSystemBalance")));
+        List<Map<String, Object>> top = (List<Map<String, Object>>) updated.get("top10Transactions2Minutes");
+        assertEquals(-1L, top.get(0).get("id"));
+        assertEquals(-1L, ((List<Map<String, Object>>) updated.get("top10Transactions30Days")).get(0).get("id"));
+
+        Thread.sleep(2100);
+
+        Map<String, Object> reloaded = snapshot.getMetrics();
+        assertEquals(users, reloaded.get("totalUsers"));
+        assertEquals(activeUsers, reloaded.get("activeUsers"));
+        assertEquals(0, balance.compareTo((BigDecimal) reloaded.get("totalSystemBalance")));
+        assertTrue(((List<Map<String, Object>>) reloaded.get("top10Transactions2Minutes")).stream()
+                .noneMatch(t -> t.get("id").equals(-1L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deletingATopTransactionForcesReload() {
+        snapshot.getMetrics();
+        Transaction transaction = transaction(-2L, "2000000000.00");
+        eventPublisher.publishEvent(TransactionChangedEvent.created(transaction));
+        assertEquals(-2L, ((List<Map<String, Object>>) snapshot.getMetrics().get("top10Transactions2Minutes")).get(0).get("id"));
+
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(transaction));
+        assertTrue(((List<Map<String, Object>>) snapshot.getMetrics().get("top10Transactions2Minutes")).stream()
+                .noneMatch(t -> t.get("id").equals(-2L)));
+    }
+
+    private static Transaction transaction(Long id, String amount) {
+        User user = new User();
+        user.setId(-1L);
+        user.setUsername("dogadjaj");
+        Wallet wallet = new Wallet();
+        wallet.setId(-1L);
+        Category category = new Category("Plata", CategoryType.INCOME, true);
+        category.setId(1L);
+
+        Transaction transaction = new Transaction("Dobitak", new BigDecimal(amount), TransactionType.INCOME,
+                category, wallet, user);
+        transaction.setId(id);
+        transaction.setDateOfTransaction(new Date());
+        return transaction;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.Currency;
+import com.example.WalletApp.repository.CurrencyRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * One request fetches every currency, all rows are updated together and the rate matrix follows;
+ * request threads get the fetched rate without calling the API.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:raterefresh",
+    "spring.jpa.show-sql=false"
+})
+class ExchangeRateRefresherTest {
+
+    private static final List<String> requests = new CopyOnWriteArrayList<>();
+    private static volatile boolean broken;
+    private static final HttpServer server = startServer();
+
+    @DynamicPropertySource
+    static void rateSource(DynamicPropertyRegistry registry) {
+        registry.add("wallet.rates.base-url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Autowired
+    private ExchangeRateRefresher exchangeRateRefresher;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private CurrencyRateCache currencyRateCache;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Test
+    void refreshFetchesAllCurrenciesInOneRequest() {
+        requests.clear();
+        Map<String, Object> result = exchangeRateRefresher.refreshRates();
+
+        assertEquals(1, requests.size());
+        String query = requests.get(0);
+        assertTrue(query.startsWith("from=EUR&to="), query);
+        for (String code : List.of("RSD", "USD", "GBP", "CHF")) {
+            assertTrue(query.contains(code), query);
+        }
+        assertFalse(query.contains("EUR,") || query.endsWith(",EUR"), query);
+
+        // RSD is not in the stub response and keeps its rate
+        assertEquals(3, result.get("updated"));
+        assertEquals(List.of("RSD"), result.get("missing"));
+        assertEquals(0.0085, valueToEur("RSD"), 1e-12);
+        assertEquals(0.8, valueToEur("USD"), 1e-12);
+        assertEquals(1.25, valueToEur("GBP"), 1e-12);
+        assertEquals(0.5, valueToEur("CHF"), 1e-12);
+
+        Long usd = currencyRepository.findByName("USD").orElseThrow().getId();
+        Long eur = currencyRepository.findByName("EUR").orElseThrow().getId();
+        assertEquals(0, new BigDecimal("80.00").compareTo(currencyRateCache.convert(new BigDecimal("100"), usd, eur)));
+
+        // Served from the last fetch, no further request
+        currencyRepository.findByName("USD").ifPresent(c -> {
+            c.setValueToEur(0.9);
+            currencyRepository.save(c);
+        });
+        assertEquals(0.8, currencyService.updateCurrencyFromAPI(usd).getValueToEur(), 1e-12);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void unusableResponseFailsTheRefresh() {
+        broken = true;
+        try {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> exchangeRateRefresher.refreshRates());
+            assertEquals("Neispravan odgovor servisa za kurseve", e.getMessage());
+            // Not left marked as running: the next call fails again instead of being skipped
+            assertThrows(RuntimeException.class, () -> exchangeRateRefresher.refreshRates());
+        } finally {
+            broken = false;
+        }
+    }
+
+    private double valueToEur(String code) {
+        Currency currency = currencyRepository.findByName(code).orElseThrow();
+        return currency.getValueToEur();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/latest", exchange -> {
+                requests.add(exchange.getRequestURI().getQuery());
+                byte[] body = (broken ? "{\"message\":\"not found\"}" : "{\"base\":\"EUR\",\"rates\":{\"USD\":1.25,\"GBP\":0.8,\"CHF\":2.0}}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.BalanceHistoryDTO;
+import com.example.WalletApp.dto.BalancePointDTO;
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.TransferDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ledger postings stay balanced and snapshot-based balances match a full replay,
+ * including legs recorded after a snapshot for dates it already covers.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ledger",
+    "wallet.ledger.snapshot-grace-minutes=0"
+})
+class LedgerServiceTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Test
+    void postingsBalanceAndSnapshotsMatchReplay() throws Exception {
+        User user = fixtures.user("ledger.user", RSD);
+        Wallet dinars = fixtures.wallet(user, "Dinari", "1000.00", RSD);
+        Wallet euros = fixtures.wallet(user, "Evri", "100.00", EUR);
+
+        fixtures.create(dinars, "INCOME", 1L, "500.00", day(2026, 1, 10), user);
+        TransactionDTO expense = fixtures.create(dinars, "EXPENSE", 6L, "200.00", day(2026, 2, 5), user);
+
+        TransferDTO transfer = new TransferDTO();
+        transfer.setFromWalletId(dinars.getId());
+        transfer.setToWalletId(euros.getId());
+        transfer.setAmount(new BigDecimal("300.00"));
+        transactionService.transferFunds(transfer, user.getId());
+
+        transactionService.deleteTransaction(expense.getId(), user.getId(), "ADMINISTRATOR");
+
+        // Original legs are kept; the delete adds a reversal posting
+        List<LedgerEntry> expenseLegs = ledgerEntryRepository.findByTransactionIdOrderById(expense.getId());
+        assertEquals(4, expenseLegs.size());
+        assertEquals(LedgerEntryKind.REVERSAL, expenseLegs.get(3).getKind());
+
+        for (Object[] row : ledgerEntryRepository.sumByCurrency()) {
+            assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) row[1]), "currency " + row[0] + " does not net to zero");
+        }
+        fixtures.assertReconciled(dinars);
+        fixtures.assertReconciled(euros);
+
+        Date snapshotDay = day(2026, 2, 1);
+        Map<String, Object> result = ledgerService.takeSnapshots(snapshotDay);
+        assertEquals(2L, result.get("snapshotsCreated"));
+
+        // Backdated into the period the snapshot already covers
+        Thread.sleep(5);
+        fixtures.create(dinars, "INCOME", 1L, "50.00", day(2026, 1, 20), user);
+
+        assertEquals(0, new BigDecimal("1500.00").compareTo(ledgerService.getBalanceAsOf(dinars.getId(), day(2026, 1, 15))));
+        assertEquals(0, new BigDecimal("1550.00").compareTo(ledgerService.getBalanceAsOf(dinars.getId(), snapshotDay)));
+        assertEquals(0, new BigDecimal("1550.00").compareTo(ledgerService.getBalanceAsOf(dinars.getId(), day(2026, 3, 1))));
+
+        BigDecimal fullReplay = dinars.getInitialBalance().add(ledgerEntryRepository.sumForWallet(dinars.getId()));
+        BigDecimal viaSnapshot = (BigDecimal) ledgerService.reconcile(dinars.getId()).get("ledgerBalance");
+        assertEquals(0, fullReplay.compareTo(viaSnapshot));
+        fixtures.assertReconciled(dinars);
+    }
+
+    @Test
+    void balanceHistoryAccumulatesDailyDeltas() {
+        User user = fixtures.user("history.user", RSD);
+        Wallet wallet = fixtures.wallet(user, "Tekući", "100.00", RSD);
+
+        fixtures.create(wallet, "INCOME", 1L, "40.00", day(2026, 2, 27), user);
+        fixtures.create(wallet, "EXPENSE", 6L, "15.00", day(2026, 3, 1), user);
+        fixtures.create(wallet, "EXPENSE", 6L, "5.00", day(2026, 3, 1), user);
+        fixtures.create(wallet, "INCOME", 1L, "70.00", day(2026, 3, 9), user);
+        ledgerService.takeSnapshots(day(2026, 3, 2));
+
+        BalanceHistoryDTO daily = ledgerService.getBalanceHistory(wallet.getId(), user.getId(),
+                LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 2), BalanceHistoryStep.DAY);
+        assertPoints(daily, "140.00", "120.00", "120.00");
+
+        BalanceHistoryDTO weekly = ledgerService.getBalanceHistory(wallet.getId(), user.getId(),
+                LocalDate.of(2026, 2, 26), LocalDate.of(2026, 3, 10), BalanceHistoryStep.WEEK);
+        assertEquals(List.of(LocalDate.of(2026, 2, 26), LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 10)),
+                weekly.getPoints().stream().map(BalancePointDTO::getDate).toList());
+        assertPoints(weekly, "100.00", "120.00", "190.00");
+
+        // Month-end points stay at the end of each month instead of drifting to the 28th
+        BalanceHistoryDTO monthly = ledgerService.getBalanceHistory(wallet.getId(), user.getId(),
+                LocalDate.of(2026, 1, 31), LocalDate.of(2026, 4, 30), BalanceHistoryStep.MONTH);
+        assertEquals(List.of(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31),
+                        LocalDate.of(2026, 4, 30)),
+                monthly.getPoints().stream().map(BalancePointDTO::getDate).toList());
+        assertPoints(monthly, "100.00", "140.00", "190.00", "190.00");
+
+        assertThrows(RuntimeException.class, () -> ledgerService.getBalanceHistory(wallet.getId(), user.getId() + 1,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 2), BalanceHistoryStep.DAY));
+    }
+
+    private void assertPoints(BalanceHistoryDTO history, String... balances) {
+        assertEquals(balances.length, history.getPoints().size());
+        for (int i = 0; i < balances.length; i++) {
+            assertEquals(0, new BigDecimal(balances[i]).compareTo(history.getPoints().get(i).getBalance()),
+                    "point " + history.getPoints().get(i).getDate());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.repository.TransactionDailyRollupRepository;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Due rules spread over several batches and partitions are materialized exactly once,
+ * with grouped balance updates and rollups matching the created occurrences.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:recurring",
+    "wallet.recurring.batch-size=2",
+    "wallet.recurring.workers=4",
+    "wallet.recurring.cron=-"
+})
+class RecurringTransactionServiceTest {
+
+    @Autowired
+    private RecurringTransactionService recurringService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void dueOccurrencesAreCreatedOnce() {
+        // Consecutive user ids land in different partitions
+        User first = fixtures.user("recurring.first", RSD);
+        User second = fixtures.user("recurring.second", RSD);
+        User third = fixtures.user("recurring.third", RSD);
+        Wallet rent = fixtures.wallet(first, "Kirija", "1000.00", RSD);
+        Wallet pocket = fixtures.wallet(first, "Džeparac", "1000.00", RSD);
+        Wallet bills = fixtures.wallet(second, "Računi", "1000.00", RSD);
+        Wallet salary = fixtures.wallet(third, "Plata", "1000.00", RSD);
+
+        TransactionDTO monthly = rule(rent, "EXPENSE", 14L, "100.00", day(2026, 1, 31), "MONTHLY", first);
+        TransactionDTO weekly = rule(pocket, "INCOME", 5L, "10.00", day(2026, 3, 1), "WEEKLY", first);
+        TransactionDTO quarterly = rule(bills, "EXPENSE", 15L, "50.00", day(2025, 10, 1), "QUARTERLY", second);
+        TransactionDTO yearly = rule(salary, "INCOME", 1L, "1000.00", day(2024, 4, 10), "YEARLY", third);
+        rule(salary, "EXPENSE", 6L, "20.00", day(2026, 3, 15), "MONTHLY", third);
+        // Not due until May
+        TransactionDTO later = rule(salary, "EXPENSE", 7L, "5.00", day(2026, 4, 10), "MONTHLY", third);
+
+        Date now = day(2026, 4, 16);
+        Map<String, Object> result = recurringService.runDue(now);
+        assertEquals(5L, result.get("rulesProcessed"));
+        assertEquals(13L, result.get("occurrencesCreated"));
+        assertEquals(0L, result.get("failedPartitions"));
+
+        // Monthly from Jan 31: Feb 28, Mar 31; weekly from Mar 1: six Sundays; quarterly: Jan 1, Apr 1;
+        // yearly: 2025-04-10, 2026-04-10; monthly from Mar 15: Apr 15
+        assertEquals(3, transactionRepository.findByWalletId(rent.getId()).size());
+        assertEquals(7, transactionRepository.findByWalletId(pocket.getId()).size());
+        assertEquals(3, transactionRepository.findByWalletId(bills.getId()).size());
+        assertEquals(6, transactionRepository.findByWalletId(salary.getId()).size());
+
+        assertEquals(day(2026, 4, 30), nextDueDate(monthly));
+        assertEquals(day(2026, 4, 19), nextDueDate(weekly));
+        assertEquals(day(2026, 7, 1), nextDueDate(quarterly));
+        assertEquals(day(2027, 4, 10), nextDueDate(yearly));
+        assertEquals(day(2026, 5, 10), nextDueDate(later));
+
+        assertMoney("700.00", fixtures.balance(rent));
+        assertMoney("1070.00", fixtures.balance(pocket));
+        assertMoney("850.00", fixtures.balance(bills));
+        // 1000 + 3 * 1000 - 2 * 20 - 5
+        assertMoney("3955.00", fixtures.balance(salary));
+
+        List<Wallet> wallets = List.of(rent, pocket, bills, salary);
+        List<List<String>> maintained = wallets.stream().map(fixtures::rollups).toList();
+        rollupRepository.deleteAll();
+        rollupService.rebuild();
+        assertEquals(maintained, wallets.stream().map(fixtures::rollups).toList());
+
+        Map<String, Object> again = recurringService.runDue(now);
+        assertEquals(0L, again.get("rulesProcessed"));
+        assertEquals(0L, again.get("occurrencesCreated"));
+        assertEquals(7, transactionRepository.findByWalletId(pocket.getId()).size());
+        assertMoney("3955.00", fixtures.balance(salary));
+        for (Wallet wallet : wallets) {
+            fixtures.assertReconciled(wallet);
+        }
+    }
+
+    private TransactionDTO rule(Wallet wallet, String type, Long categoryId, String amount, Date date,
+                                String frequency, User user) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setName(frequency + " " + amount);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setType(type);
+        dto.setCategoryId(categoryId);
+        dto.setWalletId(wallet.getId());
+        dto.setDateOfTransaction(date);
+        dto.setRepeating(true);
+        dto.setFrequency(frequency);
+        return transactionService.createTransaction(dto, user.getId());
+    }
+
+    private Date nextDueDate(TransactionDTO rule) {
+        return new Date(transactionRepository.findById(rule.getId()).orElseThrow().getNextDueDate().getTime());
+    }
+}
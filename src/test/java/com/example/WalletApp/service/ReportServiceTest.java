@@ -0,0 +1,70 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Monthly report converts every wallet into the user's currency and is served from cache
+ * until a write in that month is committed.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:reports")
+class ReportServiceTest {
+
+    private static final YearMonth MAY = YearMonth.of(2026, 5);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void monthlyReportIsConvertedAndInvalidatedByWrites() {
+        User user = fixtures.user("report.user", EUR);
+        Wallet euros = fixtures.wallet(user, "Evri", "1000.00", EUR);
+        Wallet dollars = fixtures.wallet(user, "Dolari", "1000.00", USD);
+
+        fixtures.create(euros, "INCOME", 1L, "2000.00", day(2026, 5, 1), user);
+        fixtures.create(euros, "EXPENSE", 6L, "100.00", day(2026, 5, 10), user);
+        fixtures.create(dollars, "EXPENSE", 6L, "200.00", day(2026, 5, 31), user);
+        fixtures.create(dollars, "EXPENSE", 7L, "40.00", day(2026, 5, 12), user);
+        fixtures.create(euros, "EXPENSE", 7L, "500.00", day(2026, 6, 1), user);
+
+        Map<String, Object> report = reportService.getMonthlyReport(user.getId(), MAY);
+        assertEquals("EUR", report.get("currency"));
+        assertMoney("2000.00", report.get("income"));
+        // 100 EUR + 200 USD * 0.85 + 40 USD * 0.85
+        assertMoney("304.00", report.get("expense"));
+        assertMoney("1696.00", report.get("net"));
+
+        List<Map<String, Object>> categories = (List<Map<String, Object>>) report.get("categories");
+        assertEquals(6L, categories.get(0).get("categoryId"));
+        assertMoney("270.00", categories.get(0).get("expense"));
+        assertEquals(2L, categories.get(0).get("count"));
+
+        assertSame(report, reportService.getMonthlyReport(user.getId(), MAY));
+
+        // A write in another month keeps the cached report, a write in May replaces it
+        fixtures.create(euros, "EXPENSE", 7L, "1.00", day(2026, 4, 30), user);
+        assertSame(report, reportService.getMonthlyReport(user.getId(), MAY));
+
+        fixtures.create(euros, "EXPENSE", 7L, "6.00", day(2026, 5, 20), user);
+        Map<String, Object> updated = reportService.getMonthlyReport(user.getId(), MAY);
+        assertNotSame(report, updated);
+        assertMoney("310.00", updated.get("expense"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.repository.TransactionDailyRollupRepository;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.repository.UserRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same spec produces the same data, whichever worker generates each user, and generated balances
+ * and rollups agree with the ledger and the transactions.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:generator",
+    "wallet.generator.chunk-size=100",
+    "wallet.generator.workers=2"
+})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void sameSeedGivesSameDataAndBalancedLedger() {
+        LocalDate end = LocalDate.of(2026, 6, 30);
+        Map<String, Object> first = generator.generate(new SyntheticDataGenerator.Spec(3, 3, 2, 250, 7, end, "gen-a"));
+        generator.generate(new SyntheticDataGenerator.Spec(3, 3, 2, 250, 7, end, "gen-b"));
+
+        assertEquals(750L, first.get("transactions"));
+        assertEquals(9L, first.get("wallets"));
+
+        for (int i = 0; i < 3; i++) {
+            User a = userRepository.findByUsername("gen-a" + i).orElseThrow();
+            User b = userRepository.findByUsername("gen-b" + i).orElseThrow();
+            assertEquals(a.getCurrency().getId(), b.getCurrency().getId());
+
+            List<Wallet> walletsA = wallets(a);
+            List<Wallet> walletsB = wallets(b);
+            assertEquals(3, walletsA.size());
+            for (int w = 0; w < walletsA.size(); w++) {
+                assertEquals(walletsA.get(w).getCurrency().getId(), walletsB.get(w).getCurrency().getId());
+                assertEquals(0, walletsA.get(w).getCurrentBalance().compareTo(walletsB.get(w).getCurrentBalance()));
+                assertTrue(walletsA.get(w).getCurrentBalance().signum() >= 0);
+                fixtures.assertReconciled(walletsA.get(w));
+            }
+            assertTrue(walletsA.get(2).isSavings());
+
+            assertEquals(fingerprint(a), fingerprint(b));
+        }
+
+        List<Wallet> generated = walletRepository.findAll();
+        List<List<String>> written = generated.stream().map(fixtures::rollups).toList();
+        rollupRepository.deleteAll();
+        rollupService.rebuild();
+        assertEquals(written, generated.stream().map(fixtures::rollups).toList());
+
+        assertThrows(RuntimeException.class,
+                () -> generator.generate(new SyntheticDataGenerator.Spec(1, 1, 1, 10, 7, end, "gen-a")));
+    }
+
+    private List<Wallet> wallets(User user) {
+        return walletRepository.findByUserId(user.getId()).stream()
+                .sorted(Comparator.comparing(Wallet::getId))
+                .toList();
+    }
+
+    private List<String> fingerprint(User user) {
+        List<Long> walletIds = wallets(user).stream().map(Wallet::getId).toList();
+        return transactionRepository.findDTOsByUserId(user.getId()).stream()
+                .map(t -> t.getName() + "|" + t.getAmount() + "|" + t.getType() + "|" + t.getCategoryId() + "|"
+                        + walletIds.indexOf(t.getWalletId()) + "|" + t.getDateOfTransaction().getTime())
+                .sorted()
+                .toList();
+    }
+}
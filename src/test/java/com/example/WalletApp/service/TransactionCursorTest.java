@@ -0,0 +1,25 @@
+package com.example.WalletApp.service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+class TransactionCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        Date date = new Date(1700000000123L);
+        TransactionCursor cursor = new TransactionCursor(date, 42L);
+        
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+        
+        assertEquals(date, decoded.getDateOfTransaction());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void testDecodeRejectsGarbage() {
+        assertThrows(RuntimeException.class, () -> TransactionCursor.decode("not-a-cursor"));
+    }
+}
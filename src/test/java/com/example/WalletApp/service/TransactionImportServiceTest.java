@@ -0,0 +1,135 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.ImportResultDTO;
+import com.example.WalletApp.entity.Transaction;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.repository.TransactionDailyRollupRepository;
+import com.example.WalletApp.repository.TransactionRepository;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports span several chunks, report bad rows by line number and leave balances, ledger legs
+ * and rollups as if each valid row had been created on its own.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:import",
+    "wallet.import.chunk-size=2"
+})
+class TransactionImportServiceTest {
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void csvImportSpansChunksAndReportsBadLines() throws IOException {
+        User user = fixtures.user("import.csv", RSD);
+        Wallet cash = fixtures.wallet(user, "Gotovina", "1000.00", RSD);
+        Wallet card = fixtures.wallet(user, "Kartica", "1000.00", RSD);
+        Wallet foreign = fixtures.wallet(fixtures.user("import.other", RSD), "Tuđi", "1000.00", RSD);
+
+        String csv = "name,amount,type,categoryId,categoryName,walletId,dateOfTransaction\n"
+                + "Plata,2000.00,INCOME,1,," + cash.getId() + ",2026-05-01\n"
+                + "\"Kirija, maj\",500.00,EXPENSE,,Kirija," + cash.getId() + ",2026-05-02\n"
+                + "Poklon,10.00,TRANSFER,6,," + cash.getId() + ",2026-05-03\n"
+                + "Kafa,3.50,EXPENSE,6,," + card.getId() + ",2026-05-03\n"
+                + "Tuđe,1.00,EXPENSE,6,," + foreign.getId() + ",2026-05-03\n"
+                + "\n"
+                + "Taksi,120.00,EXPENSE,,transport," + card.getId() + ",2026-05-03T18:30:00\n"
+                + "Bez iznosa,,EXPENSE,6,," + card.getId() + ",2026-05-04\n";
+
+        ImportResultDTO result = importService.importTransactions(stream(csv), TransactionFileFormat.CSV, user.getId());
+
+        assertEquals(4, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(List.of(4L, 6L, 9L), result.getErrors().stream().map(ImportResultDTO.RowError::getLine).toList());
+        assertEquals("Nepoznat tip transakcije: TRANSFER", result.getErrors().get(0).getError());
+        assertEquals("Novčanik ne postoji ili mu nemate pristup", result.getErrors().get(1).getError());
+        assertEquals("Iznos je obavezan", result.getErrors().get(2).getError());
+
+        // Rows after the first chunk still reference the wallets and user cached before it was cleared
+        List<Transaction> imported = transactionRepository.findByUserId(user.getId()).stream()
+                .sorted(Comparator.comparing(Transaction::getId))
+                .toList();
+        assertEquals(List.of("Plata", "Kirija, maj", "Kafa", "Taksi"), imported.stream().map(Transaction::getName).toList());
+        assertEquals(List.of(cash.getId(), cash.getId(), card.getId(), card.getId()),
+                imported.stream().map(t -> t.getWallet().getId()).toList());
+        assertEquals(List.of(1L, 14L, 6L, 9L), imported.stream().map(t -> t.getCategory().getId()).toList());
+        assertEquals(0, transactionRepository.findByWalletId(foreign.getId()).size());
+
+        assertMoney("2500.00", fixtures.balance(cash));
+        assertMoney("876.50", fixtures.balance(card));
+        assertMoney("1000.00", fixtures.balance(foreign));
+        fixtures.assertReconciled(cash);
+        fixtures.assertReconciled(card);
+
+        assertEquals(List.of(
+                "1|" + day(2026, 5, 1).getTime() + "|INCOME|2000.00|1",
+                "14|" + day(2026, 5, 2).getTime() + "|EXPENSE|500.00|1"), fixtures.rollups(cash));
+        assertEquals(List.of(
+                "6|" + day(2026, 5, 3).getTime() + "|EXPENSE|3.50|1",
+                "9|" + day(2026, 5, 3).getTime() + "|EXPENSE|120.00|1"), fixtures.rollups(card));
+    }
+
+    @Test
+    void ndjsonImportMatchesRebuiltRollups() throws IOException {
+        User user = fixtures.user("import.ndjson", EUR);
+        Wallet wallet = fixtures.wallet(user, "Evri", "100.00", EUR);
+        long may10 = day(2026, 5, 10).getTime();
+
+        String ndjson = "{\"name\":\"Poklon\",\"amount\":50,\"type\":\"INCOME\",\"categoryId\":4,\"walletId\":" + wallet.getId()
+                + ",\"dateOfTransaction\":" + may10 + "}\n"
+                + "{\"name\":\"Ručak\",\"amount\":12.5,\"type\":\"expense\",\"categoryId\":6,\"walletId\":" + wallet.getId()
+                + ",\"dateOfTransaction\":" + may10 + "}\n"
+                + "{not json\n"
+                + "{\"name\":\"Taksi\",\"amount\":8,\"type\":\"EXPENSE\",\"categoryName\":\"Nepostojeća\",\"walletId\":" + wallet.getId() + "}\n"
+                + "{\"name\":\"Večera\",\"amount\":7.5,\"type\":\"EXPENSE\",\"categoryName\":\"hrana\",\"walletId\":" + wallet.getId()
+                + ",\"dateOfTransaction\":" + may10 + "}\n";
+
+        ImportResultDTO result = importService.importTransactions(stream(ndjson), TransactionFileFormat.NDJSON, user.getId());
+
+        assertEquals(3, result.getImported());
+        assertEquals(List.of(3L, 4L), result.getErrors().stream().map(ImportResultDTO.RowError::getLine).toList());
+        assertEquals("Kategorija ne postoji", result.getErrors().get(1).getError());
+
+        assertMoney("130.00", fixtures.balance(wallet));
+        fixtures.assertReconciled(wallet);
+
+        List<String> maintained = fixtures.rollups(wallet);
+        assertEquals(List.of("4|" + may10 + "|INCOME|50.00|1", "6|" + may10 + "|EXPENSE|20.00|2"), maintained);
+        rollupRepository.deleteAll();
+        rollupService.rebuild();
+        assertEquals(maintained, fixtures.rollups(wallet));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
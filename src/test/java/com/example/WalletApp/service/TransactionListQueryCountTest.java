@@ -0,0 +1,132 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that transaction list reads issue a fixed number of SQL statements,
+ * independent of how many rows (and distinct users, wallets, categories) they return.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:querycount",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session.events.log=false",
+    "spring.jpa.show-sql=false"
+})
+class TransactionListQueryCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private Wallet ownerWallet;
+    private int createdUsers;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionRepository.deleteAll();
+
+        Currency currency = currencyRepository.findById(1L).orElseThrow();
+        owner = userRepository.save(new User("Query", "Owner", "query.owner" + System.nanoTime(),
+                "owner" + System.nanoTime() + "@example.com", "password", new Date(), Role.USER, currency));
+        ownerWallet = walletRepository.save(new Wallet("Glavni", BigDecimal.ZERO, owner, currency));
+    }
+
+    @Test
+    void listReadsUseConstantStatementCount() {
+        addRows(2);
+        List<Long> small = measureAll();
+
+        addRows(40);
+        List<Long> large = measureAll();
+
+        assertEquals(small, large);
+        // Plain list reads are a single SELECT each
+        assertEquals(1L, large.get(0));
+        assertEquals(1L, large.get(2));
+        assertEquals(1L, large.get(3));
+        assertEquals(1L, large.get(4));
+    }
+
+    /**
+     * Statement counts for every transaction list read, in a fixed order.
+     */
+    private List<Long> measureAll() {
+        Date from = new Date(System.currentTimeMillis() - 24L * 60 * 60 * 1000);
+        Date to = new Date(System.currentTimeMillis() + 24L * 60 * 60 * 1000);
+
+        List<Long> counts = new ArrayList<>();
+        counts.add(count(() -> transactionService.getUserTransactions(owner.getId())));
+        counts.add(count(() -> transactionService.getWalletTransactions(ownerWallet.getId(), owner.getId())));
+        counts.add(count(() -> transactionService.getTransactionsByDateRange(owner.getId(), from, to)));
+        counts.add(count(() -> transactionService.getAllTransactions()));
+        counts.add(count(() -> transactionService.getTopTransactions(from, 10)));
+        counts.add(count(() -> transactionService.getUserTransactionsPage(owner.getId(), null, 5)));
+        counts.add(count(() -> transactionService.getWalletTransactionsPage(ownerWallet.getId(), owner.getId(), null, 5)));
+        counts.add(count(() -> transactionService.searchTransactions(null, null, null, null, null, null,
+                "amount", "desc", 0, 500)));
+        return counts;
+    }
+
+    private long count(Supplier<?> call) {
+        statistics.clear();
+        assertNotNull(call.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Add rows for the owner plus rows for fresh users, each with its own wallet and category.
+     */
+    private void addRows(int rows) {
+        Currency currency = currencyRepository.findById(1L).orElseThrow();
+        List<Category> categories = categoryRepository.findAll();
+
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            createdUsers++;
+            User user = userRepository.save(new User("Query", "User", "query.user" + createdUsers + "." + System.nanoTime(),
+                    "user" + createdUsers + "." + System.nanoTime() + "@example.com", "password", new Date(), Role.USER, currency));
+            Wallet wallet = walletRepository.save(new Wallet("Novčanik " + i, BigDecimal.ZERO, user, currency));
+            Category category = categories.get(i % categories.size());
+
+            batch.add(new Transaction("Tuđa " + i, BigDecimal.valueOf(10 + i), TransactionType.EXPENSE, category, wallet, user));
+            batch.add(new Transaction("Moja " + i, BigDecimal.valueOf(5 + i), TransactionType.INCOME, category, ownerWallet, owner));
+        }
+        transactionRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.ImportResultDTO;
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.TransferDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rollup-based reports must agree with a raw scan of transactions, both when maintained
+ * incrementally and after a full rebuild.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rollups",
+    "wallet.import.chunk-size=100"
+})
+class TransactionRollupServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 4, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 4, 30);
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Test
+    void reportsMatchRawScanIncrementallyAndAfterRebuild() {
+        User user = fixtures.user("rollup.user", RSD);
+        Wallet cash = fixtures.wallet(user, "Gotovina", "500.00", RSD);
+        Wallet card = fixtures.wallet(user, "Kartica", "500.00", RSD);
+
+        fixtures.create(cash, "INCOME", 1L, "1000.00", day(2026, 4, 1), user);
+        fixtures.create(cash, "EXPENSE", 6L, "120.00", day(2026, 4, 3), user);
+        fixtures.create(cash, "EXPENSE", 6L, "80.00", day(2026, 4, 3), user);
+        fixtures.create(card, "EXPENSE", 7L, "45.50", day(2026, 4, 15), user);
+        TransactionDTO deleted = fixtures.create(card, "EXPENSE", 8L, "300.00", day(2026, 4, 20), user);
+        fixtures.create(card, "EXPENSE", 8L, "999.00", day(2026, 5, 2), user);
+
+        TransferDTO transfer = new TransferDTO();
+        transfer.setFromWalletId(cash.getId());
+        transfer.setToWalletId(card.getId());
+        transfer.setAmount(new BigDecimal("50.00"));
+        transactionService.transferFunds(transfer, user.getId());
+
+        transactionService.deleteTransaction(deleted.getId(), user.getId(), "ADMINISTRATOR");
+
+        Map<String, Object> incremental = reportService.getSummary(user.getId(), FROM, TO);
+        assertMatchesRawScan(user, incremental);
+        assertEquals(0, new BigDecimal("245.50").compareTo((BigDecimal) incremental.get("expense")));
+
+        rollupRepository.deleteAll();
+        Map<String, Object> result = rollupService.rebuild();
+        assertTrue((Long) result.get("rollupRows") > 0);
+
+        Map<String, Object> rebuilt = reportService.getSummary(user.getId(), FROM, TO);
+        assertMatchesRawScan(user, rebuilt);
+        assertEquals(incremental.toString(), rebuilt.toString());
+    }
+
+    @Test
+    void importWithManyNewKeysMatchesRebuild() throws Exception {
+        User user = fixtures.user("import.rollup", RSD);
+        Wallet wallet = fixtures.wallet(user, "Uvoz", "10000.00", RSD);
+
+        // One existing key, so the import mixes increments with new rows
+        fixtures.create(wallet, "EXPENSE", 6L, "10.00", day(2025, 1, 1), user);
+
+        StringBuilder csv = new StringBuilder("name,amount,type,categoryId,walletId,dateOfTransaction\n");
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < 600; i++) {
+            csv.append("Red ").append(i).append(",1.50,EXPENSE,").append(6 + i % 2).append(',')
+                    .append(wallet.getId()).append(',').append(first.plusDays(i / 2)).append('\n');
+        }
+        ImportResultDTO result = importService.importTransactions(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), TransactionFileFormat.CSV, user.getId());
+        assertEquals(600, result.getImported());
+
+        List<String> maintained = fixtures.rollups(wallet);
+        assertEquals(600, maintained.size());
+        assertTrue(maintained.contains("6|" + day(2025, 1, 1).getTime() + "|EXPENSE|11.50|2"), maintained.get(0));
+
+        rollupRepository.deleteAll();
+        rollupService.rebuild();
+        assertEquals(maintained, fixtures.rollups(wallet));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertMatchesRawScan(User user, Map<String, Object> summary) {
+        Date start = day(2026, 4, 1);
+        Date end = new Date(day(2026, 5, 1).getTime() - 1);
+
+        BigDecimal income = transactionRepository.getTotalIncomeByUserIdAndDateRange(user.getId(), start, end);
+        BigDecimal expense = transactionRepository.getTotalExpensesByUserIdAndDateRange(user.getId(), start, end);
+        assertEquals(0, income.compareTo((BigDecimal) summary.get("income")));
+        assertEquals(0, expense.compareTo((BigDecimal) summary.get("expense")));
+
+        List<Object[]> rawByCategory = transactionRepository.getExpensesByCategoryAndDateRange(user.getId(), start, end);
+        List<Map<String, Object>> byCategory = (List<Map<String, Object>>) summary.get("expensesByCategory");
+        assertEquals(rawByCategory.size(), byCategory.size());
+        for (int i = 0; i < rawByCategory.size(); i++) {
+            assertEquals(rawByCategory.get(i)[0], byCategory.get(i).get("categoryId"));
+            assertEquals(0, ((BigDecimal) rawByCategory.get(i)[1]).compareTo((BigDecimal) byCategory.get(i).get("total")));
+        }
+    }
+}
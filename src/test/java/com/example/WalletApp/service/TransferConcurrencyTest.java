@@ -0,0 +1,114 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.TransferDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress harness for opposite transfers on one hot pair of wallets.
+ * Must finish without deadlocks or lost updates and reports transfers per second.
+ * Scale up with: mvn test -Dtest=TransferConcurrencyTest -Dtransfers=100000 -Dthreads=64
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:transfers",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.WalletApp=INFO"
+})
+class TransferConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferConcurrencyTest.class);
+
+    private static final int TRANSFERS = Integer.getInteger("transfers", 2_000);
+    private static final int THREADS = Integer.getInteger("threads", 32);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Test
+    void oppositeTransfersOnHotPair() throws Exception {
+        Currency currency = currencyRepository.findById(1L).orElseThrow();
+        User user = userRepository.save(new User("Transfer", "User", "transfer.user", "transfer@example.com",
+                "password", new Date(), Role.USER, currency));
+        Wallet a = walletRepository.save(new Wallet("A", new BigDecimal("100000.00"), user, currency));
+        Wallet b = walletRepository.save(new Wallet("B", new BigDecimal("100000.00"), user, currency));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger busy = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            TransferDTO transfer = new TransferDTO();
+            transfer.setFromWalletId(i % 2 == 0 ? a.getId() : b.getId());
+            transfer.setToWalletId(i % 2 == 0 ? b.getId() : a.getId());
+            transfer.setAmount(new BigDecimal("1.00"));
+
+            futures.add(pool.submit(() -> {
+                await(start);
+                // Client behaviour: honour the busy signal and retry
+                while (true) {
+                    try {
+                        transactionService.transferFunds(transfer, user.getId());
+                        return;
+                    } catch (WalletBusyException e) {
+                        busy.incrementAndGet();
+                        Thread.onSpinWait();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        return;
+                    }
+                }
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        pool.shutdown();
+
+        log.info("Hot pair transfers: {} in {} s = {} transfers/s ({} busy retries, {} threads)",
+                TRANSFERS, String.format("%.2f", seconds), String.format("%.0f", TRANSFERS / seconds), busy.get(), THREADS);
+
+        assertEquals(0, failed.get());
+        BigDecimal balanceA = walletRepository.findById(a.getId()).orElseThrow().getCurrentBalance();
+        BigDecimal balanceB = walletRepository.findById(b.getId()).orElseThrow().getCurrentBalance();
+        // Equal number of transfers in each direction
+        assertEquals(0, new BigDecimal("100000.00").compareTo(balanceA));
+        assertEquals(0, new BigDecimal("100000.00").compareTo(balanceB));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
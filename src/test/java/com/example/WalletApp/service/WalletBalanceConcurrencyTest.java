@@ -0,0 +1,123 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.dto.WalletDTO;
+import com.example.WalletApp.entity.*;
+import com.example.WalletApp.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for concurrent writers on one wallet: every posted transaction must be
+ * reflected in the final balance, also while the wallet itself is being edited.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:concurrency",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.WalletApp=INFO",
+    "logging.level.org.hibernate.engine.jdbc.batch.internal.BatchingBatch=OFF"
+})
+class WalletBalanceConcurrencyTest {
+
+    private static final int WRITERS = 2_000;
+    private static final int RENAMES = 100;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Test
+    void concurrentPostsAreNeverLost() throws Exception {
+        Currency currency = currencyRepository.findById(1L).orElseThrow();
+        User user = userRepository.save(new User("Stress", "User", "stress.user", "stress@example.com",
+                "password", new Date(), Role.USER, currency));
+        Wallet wallet = walletRepository.save(new Wallet("Plata", new BigDecimal("1000.00"), user, currency));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failedPosts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        BigDecimal expectedDelta = BigDecimal.ZERO;
+        for (int i = 0; i < WRITERS; i++) {
+            boolean income = i % 3 != 0;
+            BigDecimal amount = new BigDecimal(income ? "2.50" : "1.25");
+            expectedDelta = expectedDelta.add(income ? amount : amount.negate());
+
+            TransactionDTO dto = new TransactionDTO();
+            dto.setName("Uplata " + i);
+            dto.setAmount(amount);
+            dto.setType(income ? "INCOME" : "EXPENSE");
+            dto.setCategoryId(income ? 1L : 6L);
+            dto.setWalletId(wallet.getId());
+
+            futures.add(pool.submit(() -> {
+                await(start);
+                try {
+                    transactionService.createTransaction(dto, user.getId());
+                } catch (RuntimeException e) {
+                    failedPosts.incrementAndGet();
+                }
+            }));
+        }
+
+        // Wallet edits race with the postings and must not write back a stale balance
+        for (int i = 0; i < RENAMES; i++) {
+            WalletDTO rename = new WalletDTO();
+            rename.setName("Plata " + i);
+            futures.add(pool.submit(() -> {
+                await(start);
+                try {
+                    walletService.updateWallet(wallet.getId(), rename, user.getId());
+                } catch (RuntimeException e) {
+                    // Retries exhausted under contention is acceptable; a lost balance update is not
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertEquals(0, failedPosts.get());
+        assertEquals(WRITERS, transactionRepository.findDTOsByWalletId(wallet.getId()).size());
+
+        Wallet reloaded = walletRepository.findById(wallet.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").add(expectedDelta).compareTo(reloaded.getCurrentBalance()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
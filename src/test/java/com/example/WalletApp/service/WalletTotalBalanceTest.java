@@ -0,0 +1,62 @@
+package com.example.WalletApp.service;
+
+import com.example.WalletApp.dto.CurrencyDTO;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.repository.WalletRepository;
+import com.example.WalletApp.support.TestFixtures;
+import com.example.WalletApp.support.WalletServiceTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static com.example.WalletApp.support.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Total balance converts each wallet's currency into the user's currency and stays cached
+ * until a wallet or rate changes.
+ */
+@WalletServiceTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:totalbalance")
+class WalletTotalBalanceTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void totalIsConvertedAndInvalidated() {
+        User user = fixtures.user("total.user", EUR);
+        fixtures.wallet(user, "Evri", "100.00", EUR);
+        Wallet dollars = fixtures.wallet(user, "Dolari", "200.00", USD);
+        Wallet archived = fixtures.wallet(user, "Stari", "5000.00", CHF);
+        archived.setArchived(true);
+        walletRepository.save(archived);
+
+        // 100 EUR + 200 USD * 0.85; archived wallets are not counted
+        Map<String, Object> total = walletService.getTotalBalance(user.getId());
+        assertEquals("EUR", total.get("currency"));
+        assertMoney("270.00", total.get("total"));
+        assertSame(total, walletService.getTotalBalance(user.getId()));
+
+        fixtures.create(dollars, "INCOME", 1L, "100.00", null, user);
+        assertMoney("355.00", walletService.getTotalUserBalance(user.getId()));
+
+        CurrencyDTO newRate = new CurrencyDTO();
+        newRate.setName("USD");
+        newRate.setValueToEur(0.5);
+        currencyService.updateCurrency(USD, newRate);
+        assertMoney("250.00", walletService.getTotalUserBalance(user.getId()));
+    }
+}
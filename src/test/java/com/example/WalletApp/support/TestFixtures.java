@@ -0,0 +1,126 @@
+package com.example.WalletApp.support;
+
+import com.example.WalletApp.dto.TransactionDTO;
+import com.example.WalletApp.entity.Currency;
+import com.example.WalletApp.entity.Role;
+import com.example.WalletApp.entity.TransactionDailyRollup;
+import com.example.WalletApp.entity.User;
+import com.example.WalletApp.entity.Wallet;
+import com.example.WalletApp.repository.CurrencyRepository;
+import com.example.WalletApp.repository.TransactionDailyRollupRepository;
+import com.example.WalletApp.repository.UserRepository;
+import com.example.WalletApp.repository.WalletRepository;
+import com.example.WalletApp.service.LedgerService;
+import com.example.WalletApp.service.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Users, wallets and transactions for service tests, created through the same paths the app uses.
+ * Currency ids are the seeded ones: 1 RSD, 2 EUR, 3 USD, 4 GBP, 5 CHF.
+ */
+@TestComponent
+public class TestFixtures {
+
+    public static final Long RSD = 1L;
+    public static final Long EUR = 2L;
+    public static final Long USD = 3L;
+    public static final Long GBP = 4L;
+    public static final Long CHF = 5L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    public Currency currency(Long id) {
+        return currencyRepository.findById(id).orElseThrow();
+    }
+
+    /**
+     * Regular user with the given username (also used for the e-mail) and default currency.
+     */
+    public User user(String username, Long currencyId) {
+        return userRepository.save(new User("Test", "User", username, username + "@example.com",
+                "password", new Date(), Role.USER, currency(currencyId)));
+    }
+
+    public Wallet wallet(User user, String name, String initialBalance, Long currencyId) {
+        return walletRepository.save(new Wallet(name, new BigDecimal(initialBalance), user, currency(currencyId)));
+    }
+
+    /**
+     * Create a transaction through TransactionService; a null date means now.
+     */
+    public TransactionDTO create(Wallet wallet, String type, Long categoryId, String amount, Date date, User user) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setName(type + " " + amount);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setType(type);
+        dto.setCategoryId(categoryId);
+        dto.setWalletId(wallet.getId());
+        dto.setDateOfTransaction(date);
+        return transactionService.createTransaction(dto, user.getId());
+    }
+
+    public BigDecimal balance(Wallet wallet) {
+        return walletRepository.findById(wallet.getId()).orElseThrow().getCurrentBalance();
+    }
+
+    /**
+     * The wallet's balance must equal its initial balance plus all ledger legs.
+     */
+    public void assertReconciled(Wallet wallet) {
+        Map<String, Object> reconciliation = ledgerService.reconcile(wallet.getId());
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) reconciliation.get("difference")), reconciliation.toString());
+    }
+
+    /**
+     * The wallet's rollup rows as category|day|type|total|count, ordered by day and category.
+     */
+    public List<String> rollups(Wallet wallet) {
+        return rollupRepository.findAll().stream()
+                .filter(r -> r.getWalletId().equals(wallet.getId()))
+                .sorted(Comparator.comparing(TransactionDailyRollup::getRollupDate).thenComparing(TransactionDailyRollup::getCategoryId))
+                .map(r -> r.getCategoryId() + "|" + r.getRollupDate().getTime() + "|" + r.getType() + "|"
+                        + r.getTotalAmount().setScale(2) + "|" + r.getTransactionCount())
+                .toList();
+    }
+
+    /**
+     * Start of the given day in the system time zone.
+     */
+    public static Date day(int year, int month, int day) {
+        return Date.from(LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Compare amounts ignoring scale.
+     */
+    public static void assertMoney(String expected, Object actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo((BigDecimal) actual), "got " + actual);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.WalletApp.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Full application context for service tests, with {@link TestFixtures} available for injection.
+ * Each test class still names its own database, e.g.
+ * {@code @TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:reports")},
+ * so data and rate changes never leak between classes.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(TestFixtures.class)
+public @interface WalletServiceTest {
+}